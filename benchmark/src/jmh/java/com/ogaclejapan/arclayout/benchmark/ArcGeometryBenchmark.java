@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.benchmark;
+
+import com.ogaclejapan.arclayout.core.ArcGeometry;
+import com.ogaclejapan.arclayout.core.ArcMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-layout math of ArcLayout: one op is one layout pass over {@code childCount}
+ * children.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArcGeometryBenchmark {
+
+  private static final int RADIUS = 120;
+  private static final int ORIGIN_X = 540;
+  private static final int ORIGIN_Y = 960;
+
+  @Param({ "CENTER", "LEFT", "RIGHT", "TOP", "TOP_LEFT", "TOP_RIGHT",
+      "BOTTOM", "BOTTOM_LEFT", "BOTTOM_RIGHT" })
+  ArcGeometry arc;
+
+  @Param({ "1", "10", "100", "1000" })
+  int childCount;
+
+  private float[] degrees;
+  private int[] positions;
+
+  @Setup
+  public void setup() {
+    degrees = new float[childCount];
+    positions = new int[childCount * 2];
+    ArcMath.computeDegrees(arc, childCount, false, degrees);
+  }
+
+  @Benchmark
+  public void computeDegrees(Blackhole bh) {
+    final float perDegrees = arc.computePerDegrees(childCount);
+    for (int i = 0; i < childCount; i++) {
+      bh.consume(arc.computeDegrees(i, perDegrees));
+    }
+  }
+
+  @Benchmark
+  public void computeReverseDegrees(Blackhole bh) {
+    final float perDegrees = arc.computePerDegrees(childCount);
+    for (int i = 0; i < childCount; i++) {
+      bh.consume(arc.computeReverseDegrees(i, perDegrees));
+    }
+  }
+
+  @Benchmark
+  public void childTrig(Blackhole bh) {
+    for (int i = 0; i < childCount; i++) {
+      bh.consume(ArcMath.x(RADIUS, degrees[i]));
+      bh.consume(ArcMath.y(RADIUS, degrees[i]));
+    }
+  }
+
+  @Benchmark
+  public int[] computePositions() {
+    ArcMath.computePositions(arc, childCount, RADIUS, ORIGIN_X, ORIGIN_Y, false, positions);
+    return positions;
+  }
+
+  @Benchmark
+  public int[] computeReversePositions() {
+    ArcMath.computePositions(arc, childCount, RADIUS, ORIGIN_X, ORIGIN_Y, true, positions);
+    return positions;
+  }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.benchmark;
+
+import com.ogaclejapan.arclayout.core.ArcGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the origin and intrinsic size resolution done once per measure/layout pass.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArcOriginBenchmark {
+
+  @Param({ "CENTER", "LEFT", "RIGHT", "TOP", "TOP_LEFT", "TOP_RIGHT",
+      "BOTTOM", "BOTTOM_LEFT", "BOTTOM_RIGHT" })
+  ArcGeometry arc;
+
+  private int right = 1080;
+  private int bottom = 1920;
+  private int radius = 360;
+
+  @Benchmark
+  public void computeOrigin(Blackhole bh) {
+    bh.consume(arc.computeOriginX(0, right));
+    bh.consume(arc.computeOriginY(0, bottom));
+  }
+
+  @Benchmark
+  public void computeSize(Blackhole bh) {
+    bh.consume(arc.computeWidth(radius));
+    bh.consume(arc.computeHeight(radius));
+  }
+
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.core;
+
+/**
+ * Platform independent geometry of each arc shape.
+ * <p>
+ * Every method works on primitives only, so it can be used (and benchmarked) on a plain JVM.
+ */
+public enum ArcGeometry {
+
+  CENTER(270, 360),
+  LEFT(270, 180) {
+    @Override
+    public int computeOriginX(int l, int r) {
+      return l;
+    }
+
+    @Override
+    public int computeWidthToFit(int left, int right) {
+      return Math.max(0, right);
+    }
+
+    @Override
+    public int computeWidth(int radius) {
+      return radius;
+    }
+
+  },
+  RIGHT(90, 180) {
+    @Override
+    public int computeOriginX(int l, int r) {
+      return r;
+    }
+
+    @Override
+    public int computeWidthToFit(int left, int right) {
+      return Math.max(0, -left);
+    }
+
+    @Override
+    public int computeWidth(int radius) {
+      return radius;
+    }
+
+  },
+  TOP(0, 180) {
+    @Override
+    public int computeOriginY(int t, int b) {
+      return t;
+    }
+
+    @Override
+    public int computeHeightToFit(int top, int bottom) {
+      return Math.max(0, bottom);
+    }
+
+    @Override
+    public int computeHeight(int radius) {
+      return radius;
+    }
+
+  },
+  TOP_LEFT(0, 90) {
+    @Override
+    public int computeOriginX(int l, int r) {
+      return l;
+    }
+
+    @Override
+    public int computeWidthToFit(int left, int right) {
+      return Math.max(0, right);
+    }
+
+    @Override
+    public int computeOriginY(int t, int b) {
+      return t;
+    }
+
+    @Override
+    public int computeHeightToFit(int top, int bottom) {
+      return Math.max(0, bottom);
+    }
+
+    @Override
+    public int computeWidth(int radius) {
+      return radius;
+    }
+
+    @Override
+    public int computeHeight(int radius) {
+      return radius;
+    }
+
+  },
+  TOP_RIGHT(90, 90) {
+    @Override
+    public int computeOriginX(int l, int r) {
+      return r;
+    }
+
+    @Override
+    public int computeWidthToFit(int left, int right) {
+      return Math.max(0, -left);
+    }
+
+    @Override
+    public int computeOriginY(int t, int b) {
+      return t;
+    }
+
+    @Override
+    public int computeHeightToFit(int top, int bottom) {
+      return Math.max(0, bottom);
+    }
+
+    @Override
+    public int computeWidth(int radius) {
+      return radius;
+    }
+
+    @Override
+    public int computeHeight(int radius) {
+      return radius;
+    }
+
+  },
+  BOTTOM(180, 180) {
+    @Override
+    public int computeOriginY(int t, int b) {
+      return b;
+    }
+
+    @Override
+    public int computeHeightToFit(int top, int bottom) {
+      return Math.max(0, -top);
+    }
+
+    @Override
+    public int computeHeight(int radius) {
+      return radius;
+    }
+
+  },
+  BOTTOM_LEFT(270, 90) {
+    @Override
+    public int computeOriginX(int l, int r) {
+      return l;
+    }
+
+    @Override
+    public int computeWidthToFit(int left, int right) {
+      return Math.max(0, right);
+    }
+
+    @Override
+    public int computeOriginY(int t, int b) {
+      return b;
+    }
+
+    @Override
+    public int computeHeightToFit(int top, int bottom) {
+      return Math.max(0, -top);
+    }
+
+    @Override
+    public int computeWidth(int radius) {
+      return radius;
+    }
+
+    @Override
+    public int computeHeight(int radius) {
+      return radius;
+    }
+
+  },
+  BOTTOM_RIGHT(180, 90) {
+    @Override
+    public int computeOriginX(int l, int r) {
+      return r;
+    }
+
+    @Override
+    public int computeWidthToFit(int left, int right) {
+      return Math.max(0, -left);
+    }
+
+    @Override
+    public int computeOriginY(int t, int b) {
+      return b;
+    }
+
+    @Override
+    public int computeHeightToFit(int top, int bottom) {
+      return Math.max(0, -top);
+    }
+
+    @Override
+    public int computeWidth(int radius) {
+      return radius;
+    }
+
+    @Override
+    public int computeHeight(int radius) {
+      return radius;
+    }
+
+  };
+
+  public final int startAngle;
+  public final int sweepAngle;
+
+  ArcGeometry(int startAngle, int sweepAngle) {
+    this.startAngle = startAngle;
+    this.sweepAngle = sweepAngle;
+  }
+
+  public float computeDegrees(int index, float perDegrees) {
+    final float offsetAngle = (sweepAngle < 360) ? startAngle - (perDegrees / 2f) : startAngle;
+    return offsetAngle + perDegrees + (perDegrees * index);
+  }
+
+  public float computeReverseDegrees(int index, float perDegrees) {
+    final float offsetAngle = (sweepAngle < 360) ? startAngle + (perDegrees / 2f) : startAngle;
+    final float shiftDegrees = (sweepAngle / 360) * perDegrees;
+    return offsetAngle + sweepAngle - (perDegrees + perDegrees * index) + shiftDegrees;
+  }
+
+  public float computePerDegrees(int size) {
+    return ((float) sweepAngle) / size;
+  }
+
+  public int computeOriginX(int l, int r) {
+    return ArcMath.centerX(l, r);
+  }
+
+  public int computeOriginY(int t, int b) {
+    return ArcMath.centerY(t, b);
+  }
+
+  /**
+   * @param left the leftmost extent of the content relative to the origin
+   * @param right the rightmost extent of the content relative to the origin
+   * @return the width that fits the content without moving the origin off its edge
+   */
+  public int computeWidthToFit(int left, int right) {
+    return Math.max(0, Math.max(-left, right) * 2);
+  }
+
+  /**
+   * @param top the topmost extent of the content relative to the origin
+   * @param bottom the bottommost extent of the content relative to the origin
+   * @return the height that fits the content without moving the origin off its edge
+   */
+  public int computeHeightToFit(int top, int bottom) {
+    return Math.max(0, Math.max(-top, bottom) * 2);
+  }
+
+  public int computeWidth(int radius) {
+    return ArcMath.diameter(radius);
+  }
+
+  public int computeHeight(int radius) {
+    return ArcMath.diameter(radius);
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.core;
+
+public final class ArcMath {
+
+  private ArcMath() {}
+
+  public static float computeCircleX(float r, float degrees) {
+    return (float) (r * Math.cos(Math.toRadians(degrees)));
+  }
+
+  public static float computeCircleY(float r, float degrees) {
+    return (float) (r * Math.sin(Math.toRadians(degrees)));
+  }
+
+  public static int x(int radius, float degrees) {
+    return Math.round(computeCircleX(radius, degrees));
+  }
+
+  public static int y(int radius, float degrees) {
+    return Math.round(computeCircleY(radius, degrees));
+  }
+
+  public static int centerX(int left, int right) {
+    return (left + right) / 2;
+  }
+
+  public static int centerY(int top, int bottom) {
+    return (top + bottom) / 2;
+  }
+
+  public static int diameter(int radius) {
+    return radius * 2;
+  }
+
+  /**
+   * Computes the angle of each of {@code count} items evenly placed on the arc.
+   *
+   * @param outDegrees receives the angle of the item at index {@code i} in {@code outDegrees[i]}
+   */
+  public static void computeDegrees(ArcGeometry arc, int count, boolean reverse,
+      float[] outDegrees) {
+    checkLength(outDegrees.length, count);
+    final float perDegrees = arc.computePerDegrees(count);
+    if (reverse) {
+      for (int i = 0; i < count; i++) {
+        outDegrees[i] = arc.computeReverseDegrees(i, perDegrees);
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        outDegrees[i] = arc.computeDegrees(i, perDegrees);
+      }
+    }
+  }
+
+  /**
+   * Computes the position of each of {@code count} items evenly placed on the arc.
+   *
+   * @param outXY receives the x of the item at index {@code i} in {@code outXY[i * 2]}
+   * and the y in {@code outXY[i * 2 + 1]}
+   */
+  public static void computePositions(ArcGeometry arc, int count, int radius,
+      int originX, int originY, boolean reverse, int[] outXY) {
+    checkLength(outXY.length, count * 2);
+    final float perDegrees = arc.computePerDegrees(count);
+    for (int i = 0, j = 0; i < count; i++, j += 2) {
+      final float degrees = reverse
+          ? arc.computeReverseDegrees(i, perDegrees)
+          : arc.computeDegrees(i, perDegrees);
+      outXY[j] = originX + x(radius, degrees);
+      outXY[j + 1] = originY + y(radius, degrees);
+    }
+  }
+
+  /**
+   * Same as {@link #computePositions(ArcGeometry, int, int, int, int, boolean, int[])}
+   * with the angles already computed, e.g. by {@link #computeDegrees}.
+   */
+  public static void computePositions(float[] degrees, int count, int radius,
+      int originX, int originY, int[] outXY) {
+    checkLength(degrees.length, count);
+    checkLength(outXY.length, count * 2);
+    for (int i = 0, j = 0; i < count; i++, j += 2) {
+      outXY[j] = originX + x(radius, degrees[i]);
+      outXY[j + 1] = originY + y(radius, degrees[i]);
+    }
+  }
+
+  private static void checkLength(int length, int required) {
+    if (length < required) {
+      throw new IllegalArgumentException(
+          "Array too small: length=" + length + ", required=" + required);
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.core;
+
+/**
+ * Bounded LRU cache of {@link ArcTrigTable} keyed by arc, item count and direction.
+ * <p>
+ * Lookups allocate nothing, so a shared instance can be used from every layout pass.
+ * This class is thread-safe.
+ */
+public final class ArcTrigCache {
+
+  public static final int DEFAULT_MAX_SIZE = 32;
+
+  private static final ArcTrigCache INSTANCE = new ArcTrigCache(DEFAULT_MAX_SIZE);
+
+  private final ArcTrigTable[] tables;
+  private final long[] lastAccess;
+  private long accessCount;
+  private int size;
+  private long hitCount;
+  private long missCount;
+
+  public ArcTrigCache(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize <= 0");
+    }
+    tables = new ArcTrigTable[maxSize];
+    lastAccess = new long[maxSize];
+  }
+
+  /**
+   * @return the cache shared by every ArcLayout
+   */
+  public static ArcTrigCache getInstance() {
+    return INSTANCE;
+  }
+
+  public synchronized ArcTrigTable get(ArcGeometry arc, int count, boolean reverse) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("count <= 0");
+    }
+
+    accessCount++;
+    for (int i = 0; i < size; i++) {
+      if (tables[i].matches(arc, count, reverse)) {
+        lastAccess[i] = accessCount;
+        hitCount++;
+        return tables[i];
+      }
+    }
+
+    missCount++;
+    final ArcTrigTable table = new ArcTrigTable(arc, count, reverse);
+    final int slot = (size < tables.length) ? size++ : leastRecentlyUsed();
+    tables[slot] = table;
+    lastAccess[slot] = accessCount;
+    return table;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  public synchronized int maxSize() {
+    return tables.length;
+  }
+
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  public synchronized void evictAll() {
+    for (int i = 0; i < size; i++) {
+      tables[i] = null;
+    }
+    size = 0;
+  }
+
+  private int leastRecentlyUsed() {
+    int lru = 0;
+    for (int i = 1; i < size; i++) {
+      if (lastAccess[i] < lastAccess[lru]) {
+        lru = i;
+      }
+    }
+    return lru;
+  }
+
+}
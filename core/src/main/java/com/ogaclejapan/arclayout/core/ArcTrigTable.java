@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.core;
+
+/**
+ * Immutable angles and unit circle offsets of {@code count} items evenly placed on an arc.
+ * <p>
+ * The offsets do not depend on the radius, so one table serves every radius of the same arc.
+ *
+ * @see ArcTrigCache
+ */
+public final class ArcTrigTable {
+
+  public final ArcGeometry arc;
+  public final int count;
+  public final boolean reverse;
+
+  private final float[] degrees;
+  private final double[] cos;
+  private final double[] sin;
+
+  ArcTrigTable(ArcGeometry arc, int count, boolean reverse) {
+    this.arc = arc;
+    this.count = count;
+    this.reverse = reverse;
+    this.degrees = new float[count];
+    this.cos = new double[count];
+    this.sin = new double[count];
+
+    ArcMath.computeDegrees(arc, count, reverse, degrees);
+    for (int i = 0; i < count; i++) {
+      final double radians = Math.toRadians(degrees[i]);
+      cos[i] = Math.cos(radians);
+      sin[i] = Math.sin(radians);
+    }
+  }
+
+  public float degrees(int index) {
+    return degrees[index];
+  }
+
+  /**
+   * @return same as {@code ArcMath.x(radius, degrees(index))} without any trigonometric call
+   */
+  public int x(int index, int radius) {
+    return Math.round((float) (((float) radius) * cos[index]));
+  }
+
+  /**
+   * @return same as {@code ArcMath.y(radius, degrees(index))} without any trigonometric call
+   */
+  public int y(int index, int radius) {
+    return Math.round((float) (((float) radius) * sin[index]));
+  }
+
+  /**
+   * Batch version of {@link #x(int, int)} and {@link #y(int, int)}.
+   *
+   * @param outXY receives the x of the item at index {@code i} in {@code outXY[i * 2]}
+   * and the y in {@code outXY[i * 2 + 1]}
+   */
+  public void computePositions(int radius, int originX, int originY, int[] outXY) {
+    if (outXY.length < count * 2) {
+      throw new IllegalArgumentException(
+          "Array too small: length=" + outXY.length + ", required=" + (count * 2));
+    }
+    for (int i = 0, j = 0; i < count; i++, j += 2) {
+      outXY[j] = originX + x(i, radius);
+      outXY[j + 1] = originY + y(i, radius);
+    }
+  }
+
+  boolean matches(ArcGeometry arc, int count, boolean reverse) {
+    return this.arc == arc && this.count == count && this.reverse == reverse;
+  }
+
+}
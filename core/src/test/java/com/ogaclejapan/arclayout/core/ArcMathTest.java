@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ArcMathTest {
+
+  @Test
+  public void computeDegrees() {
+    assertEquals(360f, ArcGeometry.CENTER.computeDegrees(0, 90f), 0f);
+    assertEquals(90f, ArcGeometry.TOP.computeDegrees(0, 180f), 0f);
+    assertEquals(45f, ArcGeometry.TOP_LEFT.computeDegrees(0, 90f), 0f);
+    assertEquals(270f, ArcGeometry.BOTTOM.computeReverseDegrees(1, 60f), 0f);
+  }
+
+  @Test
+  public void computeOrigin() {
+    assertEquals(50, ArcGeometry.CENTER.computeOriginX(0, 100));
+    assertEquals(50, ArcGeometry.CENTER.computeOriginY(0, 100));
+    assertEquals(0, ArcGeometry.LEFT.computeOriginX(0, 100));
+    assertEquals(100, ArcGeometry.BOTTOM_RIGHT.computeOriginX(0, 100));
+    assertEquals(100, ArcGeometry.BOTTOM_RIGHT.computeOriginY(0, 100));
+    assertEquals(0, ArcGeometry.TOP.computeOriginY(0, 100));
+  }
+
+  @Test
+  public void computeSize() {
+    assertEquals(200, ArcGeometry.CENTER.computeWidth(100));
+    assertEquals(100, ArcGeometry.LEFT.computeWidth(100));
+    assertEquals(200, ArcGeometry.LEFT.computeHeight(100));
+    assertEquals(100, ArcGeometry.TOP_RIGHT.computeHeight(100));
+  }
+
+  @Test
+  public void computeSizeToFit() {
+    assertEquals(240, ArcGeometry.CENTER.computeWidthToFit(-100, 120));
+    assertEquals(200, ArcGeometry.CENTER.computeHeightToFit(-100, 20));
+    assertEquals(120, ArcGeometry.LEFT.computeWidthToFit(-100, 120));
+    assertEquals(100, ArcGeometry.RIGHT.computeWidthToFit(-100, 120));
+    assertEquals(20, ArcGeometry.TOP_LEFT.computeHeightToFit(-100, 20));
+    assertEquals(100, ArcGeometry.BOTTOM.computeHeightToFit(-100, 20));
+    assertEquals(0, ArcGeometry.BOTTOM_RIGHT.computeWidthToFit(10, 20));
+  }
+
+  @Test
+  public void circle() {
+    assertEquals(100, ArcMath.x(100, 0f));
+    assertEquals(0, ArcMath.y(100, 0f));
+    assertEquals(0, ArcMath.x(100, 90f));
+    assertEquals(100, ArcMath.y(100, 90f));
+    assertEquals(-100, ArcMath.x(100, 180f));
+    assertEquals(-100, ArcMath.y(100, 270f));
+  }
+
+  @Test
+  public void computePositionsMatchesPerItemMath() {
+    final int radius = 120;
+    final int ox = 160;
+    final int oy = 240;
+    for (ArcGeometry arc : ArcGeometry.values()) {
+      for (int count = 1; count <= 64; count++) {
+        for (boolean reverse : new boolean[] { false, true }) {
+          final int[] actual = new int[count * 2];
+          ArcMath.computePositions(arc, count, radius, ox, oy, reverse, actual);
+
+          final float perDegrees = arc.computePerDegrees(count);
+          final int[] expected = new int[count * 2];
+          for (int i = 0; i < count; i++) {
+            final float degrees = reverse
+                ? arc.computeReverseDegrees(i, perDegrees)
+                : arc.computeDegrees(i, perDegrees);
+            expected[i * 2] = ox + ArcMath.x(radius, degrees);
+            expected[i * 2 + 1] = oy + ArcMath.y(radius, degrees);
+          }
+          assertArrayEquals(arc + " count=" + count, expected, actual);
+
+          final float[] degrees = new float[count];
+          ArcMath.computeDegrees(arc, count, reverse, degrees);
+          final int[] fromDegrees = new int[count * 2];
+          ArcMath.computePositions(degrees, count, radius, ox, oy, fromDegrees);
+          assertArrayEquals(arc + " count=" + count, expected, fromDegrees);
+        }
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void computePositionsRejectsShortArray() {
+    ArcMath.computePositions(ArcGeometry.CENTER, 3, 100, 0, 0, false, new int[5]);
+  }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ArcTrigCacheTest {
+
+  @Test
+  public void tableMatchesArcMath() {
+    final ArcTrigCache cache = new ArcTrigCache(4);
+    for (ArcGeometry arc : ArcGeometry.values()) {
+      for (int count = 1; count <= 64; count++) {
+        for (boolean reverse : new boolean[] { false, true }) {
+          final ArcTrigTable table = cache.get(arc, count, reverse);
+          for (int radius : new int[] { 0, 1, 48, 120, 999 }) {
+            final int[] expected = new int[count * 2];
+            ArcMath.computePositions(arc, count, radius, 10, 20, reverse, expected);
+            final int[] actual = new int[count * 2];
+            table.computePositions(radius, 10, 20, actual);
+            assertArrayEquals(arc + " count=" + count + " radius=" + radius, expected, actual);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void reusesTables() {
+    final ArcTrigCache cache = new ArcTrigCache(4);
+    final ArcTrigTable table = cache.get(ArcGeometry.TOP, 5, false);
+    assertSame(table, cache.get(ArcGeometry.TOP, 5, false));
+    assertNotSame(table, cache.get(ArcGeometry.TOP, 5, true));
+    assertNotSame(table, cache.get(ArcGeometry.TOP, 6, false));
+    assertNotSame(table, cache.get(ArcGeometry.BOTTOM, 5, false));
+    assertEquals(1, cache.hitCount());
+    assertEquals(4, cache.missCount());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    final ArcTrigCache cache = new ArcTrigCache(2);
+    final ArcTrigTable a = cache.get(ArcGeometry.CENTER, 1, false);
+    final ArcTrigTable b = cache.get(ArcGeometry.CENTER, 2, false);
+    assertSame(a, cache.get(ArcGeometry.CENTER, 1, false));
+
+    cache.get(ArcGeometry.CENTER, 3, false);
+    assertEquals(2, cache.size());
+    assertSame(a, cache.get(ArcGeometry.CENTER, 1, false));
+    assertNotSame(b, cache.get(ArcGeometry.CENTER, 2, false));
+  }
+
+}
@@ -6,20 +6,18 @@ import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.content.Context;
 import android.content.Intent;
-import android.os.Build;
 import android.os.Bundle;
 import android.support.v7.app.ActionBar;
 import android.support.v7.app.ActionBarActivity;
 import android.view.MenuItem;
 import android.view.View;
-import android.view.ViewAnimationUtils;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.DecelerateInterpolator;
 import android.widget.Button;
 import android.widget.Toast;
 
 import com.ogaclejapan.arclayout.ArcLayout;
-import com.ogaclejapan.arclayout.demo.widget.ClipRevealFrame;
+import com.ogaclejapan.arclayout.ArcRevealFrame;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,8 +26,7 @@ public class DemoLikeTumblrActivity extends ActionBarActivity implements View.On
 
   private static final String KEY_DEMO = "demo";
   Toast toast = null;
-  View rootLayout;
-  ClipRevealFrame menuLayout;
+  ArcRevealFrame menuLayout;
   ArcLayout arcLayout;
   View centerItem;
 
@@ -54,8 +51,7 @@ public class DemoLikeTumblrActivity extends ActionBarActivity implements View.On
     bar.setTitle(demo.titleResId);
     bar.setDisplayHomeAsUpEnabled(true);
 
-    rootLayout = findViewById(R.id.root_layout);
-    menuLayout = (ClipRevealFrame) findViewById(R.id.menu_layout);
+    menuLayout = (ArcRevealFrame) findViewById(R.id.menu_layout);
     arcLayout = (ArcLayout) findViewById(R.id.arc_layout);
     centerItem = findViewById(R.id.center_item);
 
@@ -105,9 +101,7 @@ public class DemoLikeTumblrActivity extends ActionBarActivity implements View.On
     int x = (v.getLeft() + v.getRight()) / 2;
     int y = (v.getTop() + v.getBottom()) / 2;
     float radiusOfFab = 1f * v.getWidth() / 2f;
-    float radiusFromFabToRoot = (float) Math.hypot(
-        Math.max(x, rootLayout.getWidth() - x),
-        Math.max(y, rootLayout.getHeight() - y));
+    float radiusFromFabToRoot = menuLayout.computeCoverRadius(x, y);
 
     if (v.isSelected()) {
       hideMenu(x, y, radiusFromFabToRoot, radiusOfFab);
@@ -122,7 +116,7 @@ public class DemoLikeTumblrActivity extends ActionBarActivity implements View.On
 
     List<Animator> animList = new ArrayList<>();
 
-    Animator revealAnim = createCircularReveal(menuLayout, cx, cy, startRadius, endRadius);
+    Animator revealAnim = menuLayout.createReveal(cx, cy, startRadius, endRadius);
     revealAnim.setInterpolator(new AccelerateDecelerateInterpolator());
     revealAnim.setDuration(200);
 
@@ -147,7 +141,7 @@ public class DemoLikeTumblrActivity extends ActionBarActivity implements View.On
 
     animList.add(createHideItemAnimator(centerItem));
 
-    Animator revealAnim = createCircularReveal(menuLayout, cx, cy, startRadius, endRadius);
+    Animator revealAnim = menuLayout.createReveal(cx, cy, startRadius, endRadius);
     revealAnim.setInterpolator(new AccelerateDecelerateInterpolator());
     revealAnim.setDuration(200);
     revealAnim.addListener(new AnimatorListenerAdapter() {
@@ -213,38 +207,4 @@ public class DemoLikeTumblrActivity extends ActionBarActivity implements View.On
     return anim;
   }
 
-  private Animator createCircularReveal(final ClipRevealFrame view, int x, int y, float startRadius,
-      float endRadius) {
-    final Animator reveal;
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-      reveal = ViewAnimationUtils.createCircularReveal(view, x, y, startRadius, endRadius);
-    } else {
-      view.setClipOutLines(true);
-      view.setClipCenter(x, y);
-      reveal = ObjectAnimator.ofFloat(view, "ClipRadius", startRadius, endRadius);
-      reveal.addListener(new Animator.AnimatorListener() {
-        @Override
-        public void onAnimationStart(Animator animation) {
-
-        }
-
-        @Override
-        public void onAnimationEnd(Animator animation) {
-          view.setClipOutLines(false);
-        }
-
-        @Override
-        public void onAnimationCancel(Animator animation) {
-
-        }
-
-        @Override
-        public void onAnimationRepeat(Animator animation) {
-
-        }
-      });
-    }
-    return reveal;
-  }
-
 }
@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.drawable.Drawable;
+import android.test.AndroidTestCase;
+
+public class ArcDrawableTest extends AndroidTestCase {
+
+  private Canvas canvas;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    canvas = new Canvas(Bitmap.createBitmap(200, 200, Bitmap.Config.ARGB_8888));
+  }
+
+  public void testPathIsBuiltLazily() {
+    final ArcDrawable drawable = new PathArcDrawable(Arc.BOTTOM, 100, Color.BLACK);
+    drawable.setBounds(0, 0, 200, 200);
+    drawable.setRadius(80);
+    drawable.setArc(Arc.TOP);
+    assertEquals(0, drawable.getPathRebuildCount());
+
+    drawable.draw(canvas);
+    assertEquals(1, drawable.getPathRebuildCount());
+  }
+
+  public void testPathIsRebuiltOnlyWhenChanged() {
+    final ArcDrawable drawable = new PathArcDrawable(Arc.BOTTOM, 100, Color.BLACK);
+    drawable.setBounds(0, 0, 200, 200);
+    drawable.draw(canvas);
+    drawable.draw(canvas);
+    assertEquals(1, drawable.getPathRebuildCount());
+
+    drawable.setBounds(0, 0, 200, 200);
+    drawable.setRadius(100);
+    drawable.setArc(Arc.BOTTOM);
+    drawable.setColor(Color.RED);
+    drawable.draw(canvas);
+    assertEquals(1, drawable.getPathRebuildCount());
+
+    drawable.setRadius(50);
+    drawable.draw(canvas);
+    assertEquals(2, drawable.getPathRebuildCount());
+
+    drawable.setBounds(0, 0, 100, 100);
+    drawable.draw(canvas);
+    assertEquals(3, drawable.getPathRebuildCount());
+
+    drawable.setArc(Arc.CENTER);
+    drawable.setRadius(40);
+    drawable.setBounds(0, 0, 80, 80);
+    drawable.draw(canvas);
+    assertEquals(4, drawable.getPathRebuildCount());
+  }
+
+  public void testAnalyticDrawNeedsNoPath() {
+    for (Arc arc : Arc.values()) {
+      final ArcDrawable drawable = new ArcDrawable(arc, 100, Color.BLACK);
+      drawable.setBounds(0, 0, 200, 200);
+      drawable.draw(canvas);
+      drawable.setRadius(50);
+      drawable.draw(canvas);
+      assertEquals(arc.name(), 0, drawable.getPathRebuildCount());
+    }
+  }
+
+  public void testCustomPathIsStillDrawn() {
+    final CustomPathArcDrawable drawable = new CustomPathArcDrawable(Arc.BOTTOM, 100, Color.BLACK);
+    drawable.setBounds(0, 0, 200, 200);
+    drawable.draw(canvas);
+    assertEquals(1, drawable.getPathRebuildCount());
+    assertTrue(drawable.isBuilt);
+  }
+
+  public void testAnalyticDrawMatchesPath() {
+    final Bitmap analytic = Bitmap.createBitmap(200, 200, Bitmap.Config.ARGB_8888);
+    final Bitmap path = Bitmap.createBitmap(200, 200, Bitmap.Config.ARGB_8888);
+    for (Arc arc : Arc.values()) {
+      analytic.eraseColor(Color.TRANSPARENT);
+      path.eraseColor(Color.TRANSPARENT);
+
+      final ArcDrawable d1 = new ArcDrawable(arc, 60, Color.BLACK);
+      d1.setBounds(0, 0, 200, 200);
+      d1.draw(new Canvas(analytic));
+      final ArcDrawable d2 = new PathArcDrawable(arc, 60, Color.BLACK);
+      d2.setBounds(0, 0, 200, 200);
+      d2.draw(new Canvas(path));
+
+      // Sample points well inside and outside of the shape, away from antialiased edges
+      for (int y = 10; y < 200; y += 20) {
+        for (int x = 10; x < 200; x += 20) {
+          assertEquals(arc.name() + " (" + x + ", " + y + ")",
+              Color.alpha(path.getPixel(x, y)) > 127,
+              Color.alpha(analytic.getPixel(x, y)) > 127);
+        }
+      }
+    }
+  }
+
+  public void testSharedStateUntilMutated() {
+    final ArcDrawable d1 = ArcDrawable.obtainShared(Arc.LEFT, 100, Color.BLUE);
+    final ArcDrawable d2 = ArcDrawable.obtainShared(Arc.LEFT, 100, Color.BLUE);
+    final ArcDrawable d3 = ArcDrawable.obtainShared(Arc.LEFT, 100, Color.RED);
+    assertSame(d1.getConstantState(), d2.getConstantState());
+    assertNotSame(d1.getConstantState(), d3.getConstantState());
+
+    final ArcDrawable copy = (ArcDrawable) d1.getConstantState().newDrawable();
+    assertSame(d1.getConstantState(), copy.getConstantState());
+
+    d2.mutate();
+    assertNotSame(d1.getConstantState(), d2.getConstantState());
+    d2.setColor(Color.GREEN);
+    d2.setRadius(50);
+    d2.setArc(Arc.RIGHT);
+    assertEquals(Color.BLUE, d1.getColor());
+    assertEquals(100, d1.getRadius());
+    assertEquals(Arc.LEFT, d1.getArc());
+    assertEquals(Color.GREEN, d2.getColor());
+    assertEquals(50, d2.getRadius());
+    assertEquals(Arc.RIGHT, d2.getArc());
+  }
+
+  public void testAlphaIsNotShared() {
+    final ArcDrawable d1 = ArcDrawable.obtainShared(Arc.LEFT, 100, Color.BLUE);
+    final ArcDrawable d2 = ArcDrawable.obtainShared(Arc.LEFT, 100, Color.BLUE);
+    final int alpha = d2.getAlpha();
+    d1.setAlpha(0x80);
+    d1.setColorFilter(new PorterDuffColorFilter(Color.RED, PorterDuff.Mode.SRC_IN));
+    assertNotSame(d1.getConstantState(), d2.getConstantState());
+    assertEquals(0x80, d1.getAlpha());
+    assertEquals(alpha, d2.getAlpha());
+    assertNull(((ArcDrawable.ArcState) d2.getConstantState()).paint.getColorFilter());
+  }
+
+  public void testSubclassKeepsItsType() {
+    final TypedArcDrawable d1 = new TypedArcDrawable(new TypedState(Arc.TOP, 100, Color.BLACK));
+    assertTrue(d1.getConstantState().newDrawable() instanceof TypedArcDrawable);
+
+    d1.mutate();
+    assertTrue(d1.getConstantState() instanceof TypedState);
+    assertTrue(d1.getConstantState().newDrawable() instanceof TypedArcDrawable);
+  }
+
+  public void testPathFollowsSharedState() {
+    final ArcDrawable d1 = new PathArcDrawable(Arc.TOP, 100, Color.BLACK);
+    final ArcDrawable d2 = (ArcDrawable) d1.getConstantState().newDrawable();
+    d1.setBounds(0, 0, 200, 200);
+    d1.draw(canvas);
+    assertEquals(1, d1.getPathRebuildCount());
+
+    d2.setRadius(40);
+    d1.draw(canvas);
+    assertEquals(2, d1.getPathRebuildCount());
+  }
+
+  static class TypedArcDrawable extends ArcDrawable {
+
+    TypedArcDrawable(ArcDrawable.ArcState state) {
+      super(state);
+    }
+
+  }
+
+  static class TypedState extends ArcDrawable.ArcState {
+
+    TypedState(Arc arc, int radius, int color) {
+      super(arc, radius, color);
+    }
+
+    TypedState(TypedState orig) {
+      super(orig);
+    }
+
+    @Override
+    protected ArcDrawable.ArcState copy() {
+      return new TypedState(this);
+    }
+
+    @Override
+    public Drawable newDrawable() {
+      return new TypedArcDrawable(this);
+    }
+
+  }
+
+  static class PathArcDrawable extends ArcDrawable {
+
+    PathArcDrawable(Arc arc, int radius, int color) {
+      super(arc, radius, color);
+    }
+
+    @Override
+    protected boolean onDrawArc(Canvas canvas, Paint paint) {
+      return false;
+    }
+
+  }
+
+  static class CustomPathArcDrawable extends ArcDrawable {
+
+    boolean isBuilt;
+
+    CustomPathArcDrawable(Arc arc, int radius, int color) {
+      super(arc, radius, color);
+    }
+
+    @Override
+    protected boolean hasCustomPath() {
+      return true;
+    }
+
+    @Override
+    protected void ensurePath(int left, int top, int right, int bottom) {
+      super.ensurePath(left, top, right, bottom);
+      isBuilt = true;
+    }
+
+  }
+
+}
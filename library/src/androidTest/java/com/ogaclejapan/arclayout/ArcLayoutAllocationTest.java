@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.graphics.Point;
+import android.os.Build;
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.view.View;
+
+public class ArcLayoutAllocationTest extends AndroidTestCase {
+
+  private static final int SIZE = 480;
+  private static final int CHILD_COUNT = 8;
+  private static final int REPEAT = 100;
+
+  public void testRepeatedLayoutDoesNotAllocate() {
+    for (Arc arc : Arc.values()) {
+      assertNoAllocation(createArcLayout(arc, false, false));
+      assertNoAllocation(createArcLayout(arc, true, false));
+      assertNoAllocation(createArcLayout(arc, false, true));
+    }
+  }
+
+  public void testGetOriginDoesNotAllocate() {
+    final ArcLayout layout = createArcLayout(Arc.BOTTOM, false, false);
+    layoutPass(layout);
+    final Point out = new Point();
+
+    Debug.resetThreadAllocCount();
+    Debug.startAllocCounting();
+    try {
+      for (int i = 0; i < REPEAT; i++) {
+        layout.getOrigin(out);
+      }
+      assertEquals(0, Debug.getThreadAllocCount());
+    } finally {
+      Debug.stopAllocCounting();
+    }
+
+    assertEquals(SIZE / 2, out.x);
+    assertEquals(SIZE, out.y);
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  public void testSpringFrameDoesNotAllocate() {
+    final ArcLayout layout = createArcLayout(Arc.BOTTOM, false, false);
+    layoutPass(layout);
+    final ArcSpringEngine engine = new ArcSpringEngine(layout);
+    engine.jumpTo(0f);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      engine.setChildTarget(i, 1f);
+    }
+
+    Debug.resetThreadAllocCount();
+    Debug.startAllocCounting();
+    try {
+      for (int i = 0; i < REPEAT; i++) {
+        engine.step(1f / 60f);
+        engine.applyPositions();
+      }
+      assertEquals(0, Debug.getThreadAllocCount());
+    } finally {
+      Debug.stopAllocCounting();
+    }
+  }
+
+  private ArcLayout createArcLayout(Arc arc, boolean freeAngle, boolean reverseAngle) {
+    final ArcLayout layout = new ArcLayout(getContext());
+    layout.setArc(arc);
+    layout.setFreeAngle(freeAngle);
+    layout.setReverseAngle(reverseAngle);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      final ArcLayout.LayoutParams lp = new ArcLayout.LayoutParams(48, 48);
+      lp.angle = i * 10f;
+      layout.addView(new View(getContext()), lp);
+    }
+    return layout;
+  }
+
+  private static void assertNoAllocation(ArcLayout layout) {
+    // Warm up: the first passes are allowed to allocate
+    layoutPass(layout);
+    layoutPass(layout);
+
+    Debug.resetThreadAllocCount();
+    Debug.startAllocCounting();
+    try {
+      for (int i = 0; i < REPEAT; i++) {
+        layoutPass(layout);
+      }
+      assertEquals(layout.getArc() + ": allocations", 0, Debug.getThreadAllocCount());
+    } finally {
+      Debug.stopAllocCounting();
+    }
+  }
+
+  private static void layoutPass(ArcLayout layout) {
+    final int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+    layout.forceLayout();
+    layout.measure(spec, spec);
+    layout.layout(0, 0, SIZE, SIZE);
+  }
+
+}
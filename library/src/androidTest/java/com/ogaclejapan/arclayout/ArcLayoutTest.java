@@ -0,0 +1,755 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Point;
+import android.os.Build;
+import android.os.Looper;
+import android.test.AndroidTestCase;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.ogaclejapan.arclayout.core.ArcTrigCache;
+
+public class ArcLayoutTest extends AndroidTestCase {
+
+  private static final int SIZE = 480;
+
+  public void testUnchangedLayoutSkipsChildren() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+
+    layoutPass(layout);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+  }
+
+  public void testChildRequestLayoutOnlyRelayoutsThatChild() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+
+    layout.getChildAt(2).requestLayout();
+    layoutPass(layout);
+    assertMeasureCounts(layout, 1, 1, 2, 1);
+  }
+
+  public void testInputChangeRelayoutsEveryChild() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+
+    layout.setAxisRadius(100);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 2, 2, 2, 2);
+
+    layout.getChildAt(0).setVisibility(View.GONE);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 2, 3, 3, 3);
+  }
+
+  public void testLayoutParamsChangeRelayoutsThatChild() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setFreeAngle(true);
+    layoutPass(layout);
+
+    ((ArcLayout.LayoutParams) layout.getChildAt(1).getLayoutParams()).angle = 45f;
+    layoutPass(layout);
+    assertMeasureCounts(layout, 1, 2, 1, 1);
+    assertEquals(layout.getArc().startAngle + 45f, layout.getChildAngleAt(1));
+  }
+
+  public void testEditAppliesChangesInOneLayout() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+
+    layout.edit().arc(Arc.LEFT).radius(200).axisRadius(100).reverseAngle(true).apply();
+    assertTrue(layout.isLayoutRequested());
+    assertEquals(Arc.LEFT, layout.getArc());
+    assertEquals(200, layout.getRadius());
+    assertEquals(100, layout.getAxisRadius());
+    assertTrue(layout.isReverseAngle());
+
+    layoutPass(layout);
+    assertMeasureCounts(layout, 2, 2, 2, 2);
+  }
+
+  public void testEditOnlyInvalidatesWhenGeometryUnchanged() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+
+    layout.edit().arc(layout.getArc()).radius(layout.getRadius()).color(0xff00ff00).apply();
+    assertFalse(layout.isLayoutRequested());
+    assertEquals(0xff00ff00, layout.getArcColor());
+  }
+
+  public void testExpansionMovesChildrenWithoutLayout() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+    final Point origin = layout.getOrigin();
+
+    layout.setExpansion(0f);
+    assertFalse(layout.isLayoutRequested());
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      final View child = layout.getChildAt(i);
+      final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) child.getLayoutParams();
+      assertEquals((float) (origin.x - lp.childX), child.getTranslationX());
+      assertEquals((float) (origin.y - lp.childY), child.getTranslationY());
+    }
+
+    ArcProperties.EXPANSION.set(layout, 1f);
+    assertEquals(1f, layout.getExpansion());
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      assertEquals(0f, layout.getChildAt(i).getTranslationX(), 0f);
+      assertEquals(0f, layout.getChildAt(i).getTranslationY(), 0f);
+    }
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+  }
+
+  public void testRotationOffsetMovesChildrenWithoutLayout() {
+    final ArcLayout layout = createArcLayout(4);
+    layoutPass(layout);
+    final View first = layout.getChildAt(0);
+    final View second = layout.getChildAt(1);
+    final ArcLayout.LayoutParams secondLp = (ArcLayout.LayoutParams) second.getLayoutParams();
+
+    // A quarter turn moves each of the four children to the slot of the next one
+    layout.setRotationOffset(90f);
+    assertFalse(layout.isLayoutRequested());
+    assertEquals(second.getLeft(), first.getLeft() + first.getTranslationX(), 1f);
+    assertEquals(second.getTop(), first.getTop() + first.getTranslationY(), 1f);
+    assertEquals(layout.getChildAngleAt(second) - 90f, layout.getChildAngleAt(first), 0.001f);
+    assertSame(first, layout.findChildAt(secondLp.childX, secondLp.childY));
+
+    layout.setRotationOffset(0f);
+    assertEquals(0f, first.getTranslationX(), 0f);
+    assertEquals(0f, first.getTranslationY(), 0f);
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+  }
+
+  public void testRotationSnapsToSlots() {
+    final ArcLayout layout = createArcLayout(4);
+    assertEquals(90f, layout.computeSnapRotation(100f), 0f);
+    assertEquals(0f, layout.computeSnapRotation(-40f), 0f);
+    assertEquals(720f, layout.computeSnapRotation(700f), 0f);
+
+    // A partial arc stops once the first child reaches the last slot
+    layout.setArc(Arc.BOTTOM);
+    assertEquals(45f, layout.computeSnapRotation(50f), 0f);
+    assertEquals(135f, layout.computeSnapRotation(400f), 0f);
+    assertEquals(-135f, layout.computeSnapRotation(-400f), 0f);
+  }
+
+  public void testRotatableLeavesUnclaimedTouchToParent() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setRotatable(true);
+    layoutPass(layout);
+    final Point o = layout.getOrigin();
+
+    final MotionEvent ev = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, o.x, o.y, 0);
+    assertFalse(layout.dispatchTouchEvent(ev));
+
+    layout.setClickable(true);
+    ev.setAction(MotionEvent.ACTION_CANCEL);
+    layout.dispatchTouchEvent(ev);
+    ev.setAction(MotionEvent.ACTION_DOWN);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    ev.recycle();
+  }
+
+  public void testFindChildAtResolvesOverlappingChildren() {
+    final ArcLayout layout = createArcLayout(200);
+    layout.setAxisRadius(200);
+    layoutPass(layout);
+    final Point origin = layout.getOrigin();
+
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      final View child = layout.getChildAt(i);
+      final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) child.getLayoutParams();
+      assertSame("child " + i, child, layout.findChildAt(lp.childX, lp.childY));
+    }
+
+    // Inside the arc, but too far from the axis
+    assertNull(layout.findChildAt(origin.x, origin.y));
+  }
+
+  public void testPolarHitTestDispatchesToNearestChild() {
+    final ArcLayout layout = createArcLayout(200);
+    layout.setAxisRadius(200);
+    layout.setPolarHitTest(true);
+    layoutPass(layout);
+
+    final View[] touched = new View[1];
+    final View.OnTouchListener recorder = new View.OnTouchListener() {
+      @Override
+      public boolean onTouch(View v, MotionEvent event) {
+        touched[0] = v;
+        return v != layout;
+      }
+    };
+    layout.setOnTouchListener(recorder);
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      layout.getChildAt(i).setOnTouchListener(recorder);
+    }
+
+    final View target = layout.getChildAt(10);
+    final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) target.getLayoutParams();
+    final MotionEvent ev =
+        MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, lp.childX, lp.childY, 0);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    ev.recycle();
+    assertSame(target, touched[0]);
+  }
+
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  public void testPolarHitTestKeepsDrawingOrder() {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+      return;
+    }
+    final OrderedArcLayout layout = new OrderedArcLayout(getContext());
+    for (int i = 0; i < 200; i++) {
+      layout.addView(new View(getContext()), new ArcLayout.LayoutParams(48, 48));
+    }
+    layout.setAxisRadius(200);
+    layout.setPolarHitTest(true);
+    layoutPass(layout);
+
+    final ArcLayout.LayoutParams lp =
+        (ArcLayout.LayoutParams) layout.getChildAt(10).getLayoutParams();
+    final MotionEvent ev =
+        MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, lp.childX, lp.childY, 0);
+    layout.dispatchTouchEvent(ev);
+    ev.recycle();
+    assertTrue(layout.isChildrenDrawingOrderEnabled());
+  }
+
+  public void testMarkingMenuFollowsRotation() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setArc(Arc.BOTTOM);
+    layout.setAxisRadius(200);
+    layout.setMarkingMenu(true);
+    final RecordingMarkingListener listener = new RecordingMarkingListener();
+    layout.setOnMarkingMenuListener(listener);
+    layoutPass(layout);
+    final Point o = layout.getOrigin();
+
+    // Turns the first child out of the unrotated sweep of the arc
+    layout.setRotationOffset(-45f);
+    final View target = layout.getChildAt(0);
+    final float angle = (float) Math.toRadians(layout.getChildAngleAt(target));
+    final float dx = (float) Math.cos(angle);
+    final float dy = (float) Math.sin(angle);
+
+    final MotionEvent ev = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, o.x, o.y, 0);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    ev.setAction(MotionEvent.ACTION_MOVE);
+    ev.setLocation(o.x + dx * 100f, o.y + dy * 100f);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    assertSame(target, listener.changed);
+
+    ev.setAction(MotionEvent.ACTION_UP);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    ev.recycle();
+    assertSame(target, listener.selected);
+  }
+
+  public void testMarkingMenuSelectsChildInSwipeDirection() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setAxisRadius(200);
+    layout.setMarkingMenu(true);
+    final RecordingMarkingListener listener = new RecordingMarkingListener();
+    layout.setOnMarkingMenuListener(listener);
+    layoutPass(layout);
+    final Point o = layout.getOrigin();
+
+    // Children of Arc.CENTER at 0, 90, 180 and 270 degrees from the start angle
+    final View target = layout.getChildAt(1);
+    final float angle = (float) Math.toRadians(layout.getChildAngleAt(target));
+    final float dx = (float) Math.cos(angle);
+    final float dy = (float) Math.sin(angle);
+
+    final MotionEvent ev = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, o.x, o.y, 0);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    ev.setAction(MotionEvent.ACTION_MOVE);
+    ev.setLocation(o.x + dx * 20f, o.y + dy * 20f);
+    ev.addBatch(10L, o.x + dx * 60f, o.y + dy * 60f, 1f, 1f, 0);
+    ev.addBatch(20L, o.x + dx * 100f, o.y + dy * 100f, 1f, 1f, 0);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    assertSame(target, listener.changed);
+    assertTrue(target.isPressed());
+
+    ev.setAction(MotionEvent.ACTION_UP);
+    assertTrue(layout.dispatchTouchEvent(ev));
+    ev.recycle();
+    assertSame(target, listener.selected);
+    assertFalse(target.isPressed());
+  }
+
+  public void testMonitorReportsPasses() {
+    final ArcLayout layout = createArcLayout(4);
+    final RecordingMonitor monitor = new RecordingMonitor();
+    layout.setMonitor(monitor);
+
+    layoutPass(layout);
+    assertEquals(1, monitor.measureCount);
+    assertEquals(1, monitor.layoutCount);
+    assertEquals(4, monitor.childMeasureCount);
+    assertEquals(4, monitor.visibleChildCount);
+
+    layoutPass(layout);
+    assertEquals(2, monitor.measureCount);
+    assertEquals(0, monitor.childMeasureCount);
+
+    layout.setMonitor(null);
+    layoutPass(layout);
+    assertEquals(2, monitor.measureCount);
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  public void testDiagnosticsReportsLayoutsWithinAFrame() {
+    if (Looper.myLooper() == null) {
+      // Frames never come without a running loop, so every pass falls in the same frame
+      Looper.prepare();
+    }
+    final ArcLayout layout = createArcLayout(4);
+    final RecordingReporter reporter = new RecordingReporter();
+    final ArcLayoutDiagnostics diagnostics = new ArcLayoutDiagnostics(reporter);
+    layout.setDiagnostics(diagnostics);
+
+    layoutPass(layout);
+    assertEquals(0, reporter.reportCount);
+
+    layout.setRadius(200);
+    layout.setArcColor(0xff00ff00);
+    layoutPass(layout);
+    assertEquals(1, diagnostics.getRequestLayoutCount());
+    assertEquals(1, diagnostics.getInvalidateCount());
+    assertEquals(1, diagnostics.getRedundantLayoutCount());
+    assertEquals(1, reporter.reportCount);
+    assertNotNull(reporter.callSite);
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  public void testDiagnosticsReportsChildrenMeasuredTwiceBeforeLayout() {
+    if (Looper.myLooper() == null) {
+      Looper.prepare();
+    }
+    final ArcLayout layout = createArcLayout(4);
+    final RecordingReporter reporter = new RecordingReporter();
+    final ArcLayoutDiagnostics diagnostics = new ArcLayoutDiagnostics(reporter);
+    layout.setDiagnostics(diagnostics);
+
+    final int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+    layout.measure(spec, spec);
+    assertEquals(0, diagnostics.getRedundantMeasureCount());
+    layout.forceLayout();
+    layout.measure(spec, spec);
+    assertEquals(4, diagnostics.getRedundantMeasureCount());
+    layout.layout(0, 0, SIZE, SIZE);
+
+    // Measured again for a layout requested after the last one, as expected
+    layout.getChildAt(0).requestLayout();
+    layoutPass(layout);
+    assertEquals(4, diagnostics.getRedundantMeasureCount());
+  }
+
+  public void testIncrementalLayoutPlacesChildrenOverPasses() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setIncrementalLayout(true);
+    layout.setIncrementalBudgetNanos(0L);
+
+    layoutPass(layout);
+    assertTrue(layout.isIncrementalLayoutPending());
+    assertMeasureCounts(layout, 1, 0, 0, 0);
+
+    layoutPass(layout);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 1, 1, 1, 0);
+
+    layoutPass(layout);
+    assertFalse(layout.isIncrementalLayoutPending());
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+
+    // An input change starts over, placed children stay until their turn
+    layout.setAxisRadius(100);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 2, 1, 1, 1);
+  }
+
+  public void testViewportCullingSkipsChildrenOutOfBounds() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setViewportCulling(true);
+    layout.setAxisRadius(1000);
+    layoutPass(layout);
+    // Only the first child is measured to learn the extent of a child
+    assertMeasureCounts(layout, 1, 0, 0, 0);
+    assertNull(layout.findChildAt(SIZE / 2, SIZE / 2 - 1000));
+
+    layout.setAxisRadius(100);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 2, 1, 1, 1);
+
+    // Every child is culled once the extent is known
+    layout.setAxisRadius(1000);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 2, 1, 1, 1);
+    // Keeps the bounds of the last layout, which touches no longer hit
+    final View culled = layout.getChildAt(1);
+    assertEquals(48, culled.getWidth());
+    assertEquals(48, culled.getHeight());
+    final boolean[] touched = new boolean[1];
+    culled.setOnTouchListener(new View.OnTouchListener() {
+      @Override
+      public boolean onTouch(View v, MotionEvent event) {
+        touched[0] = true;
+        return true;
+      }
+    });
+    final MotionEvent ev = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN,
+        culled.getLeft() + 24, culled.getTop() + 24, 0);
+    assertFalse(layout.dispatchTouchEvent(ev));
+    ev.recycle();
+    assertFalse(touched[0]);
+
+    layout.setViewportCulling(false);
+    layoutPass(layout);
+    assertMeasureCounts(layout, 3, 2, 2, 2);
+  }
+
+  public void testSnapshotMatchesComputedLayout() {
+    final ArcLayoutSnapshot snapshot = new ArcLayoutSnapshot.Builder(Arc.LEFT)
+        .radius(300)
+        .axisRadius(200)
+        .reverseAngle(true)
+        .size(SIZE, SIZE)
+        .childCount(4)
+        .build();
+
+    final ArcLayout expected = createArcLayout(4);
+    expected.edit().arc(Arc.LEFT).radius(300).axisRadius(200).reverseAngle(true).apply();
+    layoutPass(expected);
+
+    final ArcLayout layout = createArcLayout(4);
+    layout.applySnapshot(snapshot);
+    final long trigCacheLookups = ArcTrigCache.getInstance().hitCount()
+        + ArcTrigCache.getInstance().missCount();
+    layoutPass(layout);
+
+    // Placed from the snapshot without looking up any angle
+    assertEquals(trigCacheLookups,
+        ArcTrigCache.getInstance().hitCount() + ArcTrigCache.getInstance().missCount());
+    assertEquals(expected.getOrigin(), layout.getOrigin());
+    for (int i = 0; i < 4; i++) {
+      final View child = layout.getChildAt(i);
+      final View expectedChild = expected.getChildAt(i);
+      assertEquals(expected.getChildAngleAt(i), layout.getChildAngleAt(i));
+      assertEquals(expectedChild.getLeft(), child.getLeft());
+      assertEquals(expectedChild.getTop(), child.getTop());
+    }
+  }
+
+  public void testSnapshotCanBeCleared() {
+    final ArcLayoutSnapshot snapshot = new ArcLayoutSnapshot.Builder(Arc.LEFT)
+        .size(SIZE, SIZE)
+        .childCount(4)
+        .build();
+    final ArcLayout layout = createArcLayout(4);
+    layout.applySnapshot(snapshot);
+    layoutPass(layout);
+
+    layout.applySnapshot(null);
+    assertTrue(layout.isLayoutRequested());
+    final long trigCacheLookups = ArcTrigCache.getInstance().hitCount()
+        + ArcTrigCache.getInstance().missCount();
+    layoutPass(layout);
+
+    // Placed by computing the angles again
+    assertTrue(trigCacheLookups
+        < ArcTrigCache.getInstance().hitCount() + ArcTrigCache.getInstance().missCount());
+  }
+
+  public void testWrapChildren() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setRadius(100);
+    layout.setAxisRadius(100);
+    final int spec = View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.AT_MOST);
+
+    layout.measure(spec, spec);
+    assertEquals(200, layout.getMeasuredWidth());
+    assertEquals(200, layout.getMeasuredHeight());
+
+    // Children of 48px centered at 100px from the origin
+    layout.setWrapChildren(true);
+    layout.measure(spec, spec);
+    assertEquals(248, layout.getMeasuredWidth());
+    assertEquals(248, layout.getMeasuredHeight());
+
+    layout.layout(0, 0, 248, 248);
+    final View right = layout.getChildAt(0);
+    assertEquals(200, right.getLeft());
+    assertEquals(248, right.getRight());
+  }
+
+  public void testWrapChildrenPlacesChildrenOnce() {
+    final ArcLayout layout = createArcLayout(4);
+    layout.setWrapChildren(true);
+    final int spec = View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.AT_MOST);
+
+    layout.measure(spec, spec);
+    layout.layout(0, 0, layout.getMeasuredWidth(), layout.getMeasuredHeight());
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+
+    layout.forceLayout();
+    layout.measure(spec, spec);
+    assertMeasureCounts(layout, 1, 1, 1, 1);
+  }
+
+  public void testAdapterRecyclesViews() {
+    final ArcLayout layout = new ArcLayout(getContext());
+    final CountingAdapter adapter = new CountingAdapter(10);
+    layout.setAdapter(adapter);
+    layoutPass(layout);
+    assertEquals(10, layout.getChildCount());
+    assertEquals(10, adapter.createCount);
+    assertEquals(10, adapter.bindCount);
+    assertEquals(3, layout.getChildAdapterPosition(layout.getChildAt(3)));
+
+    adapter.notifyDataSetChanged();
+    layoutPass(layout);
+    assertEquals(10, adapter.createCount);
+    assertEquals(20, adapter.bindCount);
+
+    // 5 views go to the pool and come back
+    adapter.itemCount = 5;
+    adapter.notifyDataSetChanged();
+    layoutPass(layout);
+    assertEquals(5, layout.getChildCount());
+    adapter.itemCount = 10;
+    adapter.notifyDataSetChanged();
+    layoutPass(layout);
+    assertEquals(10, layout.getChildCount());
+    assertEquals(10, adapter.createCount);
+  }
+
+  public void testAdapterOnlyBindsItemsWithinBounds() {
+    final ArcLayout layout = new ArcLayout(getContext());
+    layout.setAxisRadius(300);
+    final CountingAdapter adapter = new CountingAdapter(36);
+    layout.setAdapter(adapter);
+    layoutPass(layout);
+
+    // Every 10 degrees on a circle of 300px in 480px, items of 48px are only visible from 30
+    // to 60 degrees of each quadrant
+    assertEquals(16, layout.getChildCount());
+    assertEquals(16, adapter.createCount);
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      final float angle = layout.getChildAngleAt(i) % 90f;
+      assertTrue(angle >= 30f && angle <= 60f);
+    }
+  }
+
+  public void testAdapterBindsItemsRotatedIntoBounds() {
+    final ArcLayout layout = new ArcLayout(getContext());
+    layout.setAxisRadius(300);
+    final CountingAdapter adapter = new CountingAdapter(36);
+    layout.setAdapter(adapter);
+    layoutPass(layout);
+    assertEquals(16, adapter.bindCount);
+
+    // Items at 20 degrees of each quadrant turn to 30, into the bounds
+    layout.setRotationOffset(10f);
+    assertTrue(layout.isLayoutRequested());
+    layoutPass(layout);
+    assertEquals(16, layout.getChildCount());
+    assertEquals(20, adapter.bindCount);
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      final float angle = layout.getChildAngleAt(i) % 90f;
+      assertTrue(angle >= 30f - 0.01f && angle <= 60f + 0.01f);
+    }
+  }
+
+  public void testAdapterKeepsViewsOfItemsStillWithinBounds() {
+    final ArcLayout layout = new ArcLayout(getContext());
+    layout.setAxisRadius(300);
+    final CountingAdapter adapter = new CountingAdapter(36);
+    layout.setAdapter(adapter);
+    layoutPass(layout);
+    final View kept = layout.getChildAt(0);
+    final int bindCount = adapter.bindCount;
+
+    // From 20 to 70 degrees: only the 8 items that come into bounds are bound
+    layout.setAxisRadius(280);
+    layoutPass(layout);
+    assertEquals(24, layout.getChildCount());
+    assertEquals(bindCount + 8, adapter.bindCount);
+    assertSame(kept, layout.getChildAt(1));
+
+    try {
+      layout.addView(new View(getContext()));
+      fail();
+    } catch (IllegalStateException expected) {
+      // Children are provided by the adapter
+    }
+  }
+
+  private ArcLayout createArcLayout(int childCount) {
+    final ArcLayout layout = new CountingArcLayout(getContext());
+    for (int i = 0; i < childCount; i++) {
+      layout.addView(new CountingView(getContext()), new ArcLayout.LayoutParams(48, 48));
+    }
+    return layout;
+  }
+
+  private static void assertMeasureCounts(ArcLayout layout, int... expected) {
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals("child " + i, expected[i], ((CountingView) layout.getChildAt(i)).measureCount);
+    }
+  }
+
+  private static void layoutPass(ArcLayout layout) {
+    final int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+    layout.forceLayout();
+    layout.measure(spec, spec);
+    layout.layout(0, 0, SIZE, SIZE);
+  }
+
+  static class OrderedArcLayout extends ArcLayout {
+
+    OrderedArcLayout(Context context) {
+      super(context);
+      setChildrenDrawingOrderEnabled(true);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    protected boolean isChildrenDrawingOrderEnabled() {
+      return super.isChildrenDrawingOrderEnabled();
+    }
+
+  }
+
+  static class CountingArcLayout extends ArcLayout {
+
+    CountingArcLayout(Context context) {
+      super(context);
+    }
+
+    @Override
+    protected void childMeasureBy(View child, int x, int y) {
+      ((CountingView) child).measureCount++;
+      super.childMeasureBy(child, x, y);
+    }
+
+  }
+
+  static class CountingAdapter extends ArcAdapter {
+
+    int itemCount;
+    int createCount;
+    int bindCount;
+
+    CountingAdapter(int itemCount) {
+      this.itemCount = itemCount;
+    }
+
+    @Override
+    public int getItemCount() {
+      return itemCount;
+    }
+
+    @Override
+    public View onCreateView(ViewGroup parent, int viewType) {
+      createCount++;
+      final View view = new CountingView(parent.getContext());
+      view.setLayoutParams(new ArcLayout.LayoutParams(48, 48));
+      return view;
+    }
+
+    @Override
+    public void onBindView(View view, int position) {
+      bindCount++;
+    }
+
+  }
+
+  static class CountingView extends View {
+
+    int measureCount;
+
+    CountingView(Context context) {
+      super(context);
+    }
+
+  }
+
+  static class RecordingMarkingListener implements ArcLayout.OnMarkingMenuListener {
+
+    View changed;
+    View selected;
+
+    @Override
+    public void onMarkingChanged(ArcLayout layout, View child) {
+      changed = child;
+    }
+
+    @Override
+    public void onMarkingSelected(ArcLayout layout, View child) {
+      selected = child;
+    }
+
+  }
+
+  static class RecordingMonitor implements ArcLayout.Monitor {
+
+    int measureCount;
+    int layoutCount;
+    int childMeasureCount;
+    int visibleChildCount;
+
+    @Override
+    public void onMeasure(ArcLayout layout, ArcLayout.Stats stats) {
+      measureCount++;
+      childMeasureCount = stats.getChildMeasureCount();
+      visibleChildCount = stats.getVisibleChildCount();
+    }
+
+    @Override
+    public void onLayout(ArcLayout layout, ArcLayout.Stats stats) {
+      layoutCount++;
+    }
+
+    @Override
+    public void onDraw(ArcLayout layout, ArcLayout.Stats stats) {
+    }
+
+  }
+
+  static class RecordingReporter implements ArcLayoutDiagnostics.Reporter {
+
+    int reportCount;
+    Throwable callSite;
+
+    @Override
+    public void onReport(ArcLayout layout, String message, Throwable callSite) {
+      reportCount++;
+      this.callSite = callSite;
+    }
+
+  }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.test.AndroidTestCase;
+import android.view.View;
+
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+public class ArcSpringEngineTest extends AndroidTestCase {
+
+  private static final int SIZE = 480;
+  private static final float FRAME_SECONDS = 1f / 60f;
+
+  public void testSettlesAtTarget() {
+    final ArcLayout layout = createArcLayout(4);
+    final ArcSpringEngine engine = new ArcSpringEngine(layout);
+    engine.jumpTo(0f);
+    assertTranslatedToOrigin(layout);
+
+    for (int i = 0; i < 4; i++) {
+      engine.setChildTarget(i, 1f);
+    }
+    int frames = 0;
+    while (!engine.step(FRAME_SECONDS)) {
+      assertTrue("never settles", ++frames < 600);
+    }
+    engine.applyPositions();
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(1f, engine.getChildPosition(i));
+      assertEquals(0f, layout.getChildAt(i).getTranslationX(), 0f);
+      assertEquals(0f, layout.getChildAt(i).getTranslationY(), 0f);
+    }
+  }
+
+  public void testRetargetKeepsVelocity() {
+    final ArcLayout layout = createArcLayout(1);
+    final ArcSpringEngine engine = new ArcSpringEngine(layout);
+    engine.jumpTo(0f);
+    engine.setChildTarget(0, 1f);
+    for (int i = 0; i < 5; i++) {
+      engine.step(FRAME_SECONDS);
+    }
+    final float velocity = engine.getChildVelocity(0);
+    assertTrue(velocity > 0f);
+
+    engine.setChildTarget(0, 0f);
+    assertEquals(velocity, engine.getChildVelocity(0));
+    engine.step(FRAME_SECONDS);
+    // Still moving toward the arc, but slowing down
+    assertTrue(engine.getChildVelocity(0) > 0f);
+    assertTrue(engine.getChildVelocity(0) < velocity);
+  }
+
+  public void testPositionsComposeWithRotation() {
+    final ArcLayout layout = createArcLayout(4);
+    final ArcSpringEngine engine = new ArcSpringEngine(layout);
+    layout.setRotationOffset(90f);
+    final float rotatedX = layout.getChildAt(0).getTranslationX();
+    final float rotatedY = layout.getChildAt(0).getTranslationY();
+
+    // Collapsed to the origin regardless of the rotation
+    engine.jumpTo(0f);
+    assertTranslatedToOrigin(layout);
+
+    // Back on the arc, still rotated
+    engine.jumpTo(1f);
+    assertEquals(rotatedX, layout.getChildAt(0).getTranslationX(), 0.01f);
+    assertEquals(rotatedY, layout.getChildAt(0).getTranslationY(), 0.01f);
+  }
+
+  public void testPositionsFollowRemovedChildren() {
+    final ArcLayout layout = createArcLayout(3);
+    final ArcSpringEngine engine = new ArcSpringEngine(layout);
+    engine.jumpTo(1f);
+    engine.setChildTarget(1, 0f);
+    engine.step(FRAME_SECONDS);
+    final float position = engine.getChildPosition(1);
+    assertTrue(position < 1f);
+
+    layout.removeViewAt(0);
+    assertEquals(position, engine.getChildPosition(0), 0f);
+    assertEquals(1f, engine.getChildPosition(1), 0f);
+  }
+
+  private void assertTranslatedToOrigin(ArcLayout layout) {
+    final int originX = layout.getOrigin().x;
+    for (int i = 0; i < layout.getChildCount(); i++) {
+      final View child = layout.getChildAt(i);
+      final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) child.getLayoutParams();
+      assertEquals((float) (originX - lp.childX), child.getTranslationX(), 0.01f);
+    }
+  }
+
+  private ArcLayout createArcLayout(int childCount) {
+    final ArcLayout layout = new ArcLayout(getContext());
+    for (int i = 0; i < childCount; i++) {
+      layout.addView(new View(getContext()), new ArcLayout.LayoutParams(48, 48));
+    }
+    final int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+    layout.measure(spec, spec);
+    layout.layout(0, 0, SIZE, SIZE);
+    return layout;
+  }
+
+}
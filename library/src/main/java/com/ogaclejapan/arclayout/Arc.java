@@ -15,167 +15,73 @@
  */
 package com.ogaclejapan.arclayout;
 
+import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Point;
 import android.graphics.RectF;
 import android.os.Build;
 
+import com.ogaclejapan.arclayout.core.ArcGeometry;
+import com.ogaclejapan.arclayout.core.ArcMath;
+
 import static android.os.Build.VERSION_CODES.LOLLIPOP;
 
 public enum Arc {
 
-  CENTER(270, 360) {
-    @Override
-    public Path computePath(int radius, int l, int t, int r, int b) {
-      final Point o = computeOrigin(l, t, r, b);
-      final Path path = new Path();
-      path.addCircle(o.x, o.y, radius, Path.Direction.CW);
-      return path;
-    }
-  },
-  LEFT(270, 180) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(l, centerY(t, b));
-    }
-
-    @Override
-    public int computeWidth(int radius) {
-      return radius;
-    }
-
-  },
-  RIGHT(90, 180) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(r, centerY(t, b));
-    }
-
-    @Override
-    public int computeWidth(int radius) {
-      return radius;
-    }
-
-  },
-  TOP(0, 180) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(centerX(l, r), t);
-    }
-
-    @Override
-    public int computeHeight(int radius) {
-      return radius;
-    }
-
-  },
-  TOP_LEFT(0, 90) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(l, t);
-    }
-
-    @Override
-    public int computeWidth(int radius) {
-      return radius;
-    }
-
-    @Override
-    public int computeHeight(int radius) {
-      return radius;
-    }
-
-  },
-  TOP_RIGHT(90, 90) {
-    @Override
-    public Point computeOrigin(int left, int t, int r, int b) {
-      return new Point(r, t);
-    }
-
-    @Override
-    public int computeWidth(int radius) {
-      return radius;
-    }
-
-    @Override
-    public int computeHeight(int radius) {
-      return radius;
-    }
-
-  },
-  BOTTOM(180, 180) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(centerX(l, r), b);
-    }
-
-    @Override
-    public int computeHeight(int radius) {
-      return radius;
-    }
-
-  },
-  BOTTOM_LEFT(270, 90) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(l, b);
-    }
-
+  CENTER(ArcGeometry.CENTER) {
     @Override
-    public int computeWidth(int radius) {
-      return radius;
+    public Path computePath(int radius, int l, int t, int r, int b, Path out) {
+      out.reset();
+      out.addCircle(geometry.computeOriginX(l, r), geometry.computeOriginY(t, b), radius,
+          Path.Direction.CW);
+      return out;
     }
 
     @Override
-    public int computeHeight(int radius) {
-      return radius;
+    void draw(Canvas canvas, int radius, int l, int t, int r, int b, RectF oval,
+        Paint paint) {
+      canvas.drawCircle(geometry.computeOriginX(l, r), geometry.computeOriginY(t, b), radius,
+          paint);
     }
-
   },
-  BOTTOM_RIGHT(180, 90) {
-    @Override
-    public Point computeOrigin(int l, int t, int r, int b) {
-      return new Point(r, b);
-    }
-
-    @Override
-    public int computeWidth(int radius) {
-      return radius;
-    }
-
-    @Override
-    public int computeHeight(int radius) {
-      return radius;
-    }
-
-  };
+  LEFT(ArcGeometry.LEFT),
+  RIGHT(ArcGeometry.RIGHT),
+  TOP(ArcGeometry.TOP),
+  TOP_LEFT(ArcGeometry.TOP_LEFT),
+  TOP_RIGHT(ArcGeometry.TOP_RIGHT),
+  BOTTOM(ArcGeometry.BOTTOM),
+  BOTTOM_LEFT(ArcGeometry.BOTTOM_LEFT),
+  BOTTOM_RIGHT(ArcGeometry.BOTTOM_RIGHT);
 
   public final int startAngle;
   public final int sweepAngle;
+  public final ArcGeometry geometry;
 
-  Arc(int startAngle, int sweepAngle) {
-    this.startAngle = startAngle;
-    this.sweepAngle = sweepAngle;
+  Arc(ArcGeometry geometry) {
+    this.startAngle = geometry.startAngle;
+    this.sweepAngle = geometry.sweepAngle;
+    this.geometry = geometry;
   }
 
   public static int x(int radius, float degrees) {
-    return Math.round(Utils.computeCircleX(radius, degrees));
+    return ArcMath.x(radius, degrees);
   }
 
   public static int y(int radius, float degrees) {
-    return Math.round(Utils.computeCircleY(radius, degrees));
+    return ArcMath.y(radius, degrees);
   }
 
   public static int centerX(int left, int right) {
-    return (left + right) / 2;
+    return ArcMath.centerX(left, right);
   }
 
   public static int centerY(int top, int bottom) {
-    return (top + bottom) / 2;
+    return ArcMath.centerY(top, bottom);
   }
 
   public static int diameter(int radius) {
-    return radius * 2;
+    return ArcMath.diameter(radius);
   }
 
   public static Arc of(int origin) {
@@ -223,41 +129,60 @@ public enum Arc {
   }
 
   public float computeDegrees(int index, float perDegrees) {
-    final float offsetAngle = (sweepAngle < 360) ? startAngle - (perDegrees / 2f) : startAngle;
-    return offsetAngle + perDegrees + (perDegrees * index);
+    return geometry.computeDegrees(index, perDegrees);
   }
 
   public float computeReverseDegrees(int index, float perDegrees) {
-    final float offsetAngle = (sweepAngle < 360) ? startAngle + (perDegrees / 2f) : startAngle;
-    final float shiftDegrees = (sweepAngle / 360) * perDegrees;
-    return offsetAngle + sweepAngle - (perDegrees + perDegrees * index) + shiftDegrees;
+    return geometry.computeReverseDegrees(index, perDegrees);
   }
 
   public float computePerDegrees(int size) {
-    return ((float) sweepAngle) / size;
+    return geometry.computePerDegrees(size);
   }
 
-  public Path computePath(int radius, int l, int t, int r, int b) {
-    final Point o = computeOrigin(l, t, r, b);
-    final int ol = o.x - radius;
-    final int ot = o.y - radius;
-    final int or = o.x + radius;
-    final int ob = o.y + radius;
+  /**
+   * Computes the position of {@code count} items evenly placed on the arc in a single batch.
+   *
+   * @see ArcMath#computePositions(ArcGeometry, int, int, int, int, boolean, int[])
+   */
+  public void computePositions(int count, int radius, int originX, int originY, boolean reverse,
+      int[] outXY) {
+    ArcMath.computePositions(geometry, count, radius, originX, originY, reverse, outXY);
+  }
 
-    Path path = new Path();
-    path.moveTo(o.x, o.y);
+  public Path computePath(int radius, int l, int t, int r, int b) {
+    return computePath(radius, l, t, r, b, new Path());
+  }
+
+  /**
+   * Same as {@link #computePath(int, int, int, int, int)} but resets and reuses {@code out}
+   * instead of allocating a new Path.
+   *
+   * @return the given {@code out}
+   */
+  public Path computePath(int radius, int l, int t, int r, int b, Path out) {
+    final int ox = geometry.computeOriginX(l, r);
+    final int oy = geometry.computeOriginY(t, b);
+    final int ol = ox - radius;
+    final int ot = oy - radius;
+    final int or = ox + radius;
+    final int ob = oy + radius;
+
+    final Path path = out;
+    path.reset();
+    path.moveTo(ox, oy);
     switch (startAngle) {
       case 0:
-        path.lineTo(or, o.y);
+        path.lineTo(or, oy);
         break;
       case 90:
-        path.lineTo(o.x, ob);
+        path.lineTo(ox, ob);
         break;
       case 180:
-        path.lineTo(ol, o.y);
+        path.lineTo(ol, oy);
         break;
       case 270:
-        path.lineTo(o.x, ot);
+        path.lineTo(ox, ot);
         break;
       default:
         throw new UnsupportedOperationException();
@@ -267,20 +192,45 @@ public enum Arc {
     } else {
       path.arcTo(new RectF(ol, ot, or, ob), startAngle, sweepAngle, true);
     }
-    path.lineTo(o.x, o.y);
+    path.lineTo(ox, oy);
     return path;
   }
 
+  /**
+   * Draws the same shape as {@link #computePath(int, int, int, int, int)} with the analytic
+   * canvas primitives, i.e. a circle or a sector, which need no path tessellation.
+   *
+   * @param oval temporary rect reused for the bounds of the circle
+   */
+  void draw(Canvas canvas, int radius, int l, int t, int r, int b, RectF oval,
+      Paint paint) {
+    final int ox = geometry.computeOriginX(l, r);
+    final int oy = geometry.computeOriginY(t, b);
+    oval.set(ox - radius, oy - radius, ox + radius, oy + radius);
+    canvas.drawArc(oval, startAngle, sweepAngle, true, paint);
+  }
+
   public Point computeOrigin(int l, int t, int r, int b) {
-    return new Point(centerX(l, r), centerY(t, b));
+    return computeOrigin(l, t, r, b, new Point());
+  }
+
+  /**
+   * Same as {@link #computeOrigin(int, int, int, int)} but stores the result in {@code out}
+   * instead of allocating a new Point.
+   *
+   * @return the given {@code out}
+   */
+  public Point computeOrigin(int l, int t, int r, int b, Point out) {
+    out.set(geometry.computeOriginX(l, r), geometry.computeOriginY(t, b));
+    return out;
   }
 
   public int computeWidth(int radius) {
-    return diameter(radius);
+    return geometry.computeWidth(radius);
   }
 
   public int computeHeight(int radius) {
-    return diameter(radius);
+    return geometry.computeHeight(radius);
   }
 
 }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.database.DataSetObservable;
+import android.database.DataSetObserver;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Provides the items of an {@link ArcLayout}, which only creates views for the items placed
+ * within its bounds and recycles them by view type when the data set changes.
+ *
+ * @see ArcLayout#setAdapter(ArcAdapter)
+ */
+public abstract class ArcAdapter {
+
+  private final DataSetObservable observable = new DataSetObservable();
+
+  public abstract int getItemCount();
+
+  public int getItemViewType(int position) {
+    return 0;
+  }
+
+  /**
+   * Creates a new view for the given view type. The view is bound by
+   * {@link #onBindView(View, int)} before it is added to the parent.
+   */
+  public abstract View onCreateView(ViewGroup parent, int viewType);
+
+  public abstract void onBindView(View view, int position);
+
+  /**
+   * Called when a view is removed from the parent and kept in the recycle pool.
+   */
+  public void onViewRecycled(View view) {
+  }
+
+  public final void notifyDataSetChanged() {
+    observable.notifyChanged();
+  }
+
+  void registerDataSetObserver(DataSetObserver observer) {
+    observable.registerObserver(observer);
+  }
+
+  void unregisterDataSetObserver(DataSetObserver observer) {
+    observable.unregisterObserver(observer);
+  }
+
+}
@@ -0,0 +1,232 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.database.DataSetObserver;
+import android.graphics.Point;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.ogaclejapan.arclayout.core.ArcTrigCache;
+import com.ogaclejapan.arclayout.core.ArcTrigTable;
+
+/**
+ * Binds the items of an {@link ArcAdapter} to the children of {@link ArcLayout}.
+ * <p>
+ * Only the items whose anchor falls within the bounds, widened by half of the largest item, get
+ * a view. The rest are recycled through {@link ArcRecycler}.
+ */
+class ArcAdapterBinder {
+
+  private final ArcLayout layout;
+  private final Point size;
+  private final ArcRecycler recycler = new ArcRecycler();
+  private final ArcLayout.LayoutFingerprint fingerprint = new ArcLayout.LayoutFingerprint();
+  private ArcAdapter adapter;
+  private boolean isDirty;
+  private int itemExtent;
+  private int boundItemExtent;
+  private float boundRotationOffset;
+  private final DataSetObserver observer = new DataSetObserver() {
+    @Override
+    public void onChanged() {
+      isDirty = true;
+      layout.requestLayout();
+    }
+
+    @Override
+    public void onInvalidated() {
+      onChanged();
+    }
+  };
+
+  /**
+   * @param size the size of the layout being measured
+   */
+  ArcAdapterBinder(ArcLayout layout, Point size) {
+    this.layout = layout;
+    this.size = size;
+  }
+
+  ArcAdapter getAdapter() {
+    return adapter;
+  }
+
+  void setAdapter(ArcAdapter adapter) {
+    if (this.adapter != null) {
+      this.adapter.unregisterDataSetObserver(observer);
+    }
+    recycler.clear();
+    itemExtent = 0;
+    boundItemExtent = 0;
+
+    this.adapter = adapter;
+    if (adapter != null) {
+      adapter.registerDataSetObserver(observer);
+    }
+    isDirty = true;
+  }
+
+  void setMaxRecycledViews(int max) {
+    recycler.setMaxPoolSize(max);
+  }
+
+  void onItemMeasured(View child) {
+    itemExtent = Math.max(itemExtent,
+        Math.max(child.getMeasuredWidth(), child.getMeasuredHeight()) / 2);
+  }
+
+  /**
+   * @return true if an item has been measured larger than the margin the items were bound with
+   */
+  boolean isExtentChanged() {
+    return boundItemExtent != itemExtent;
+  }
+
+  /**
+   * Binds a view to every item within the bounds. Views of items that stay within the bounds are
+   * kept, and rebound in place if the data set has changed. Children are kept in order of their
+   * adapter position.
+   */
+  void populate() {
+    if (adapter == null) {
+      return;
+    }
+
+    final Arc arc = layout.getArc();
+    final int itemCount = adapter.getItemCount();
+    final int radius = layout.computeAxisRadius();
+    final float rotationOffset = layout.getRotationOffset();
+    final boolean inputsChanged = fingerprint.update(size.x, size.y, arc, radius, itemCount,
+        layout.isFreeAngle(), layout.isReverseAngle(), layout.getLayoutDirectionCompat());
+    if (!inputsChanged && !isDirty && boundItemExtent == itemExtent
+        && boundRotationOffset == rotationOffset) {
+      return;
+    }
+    final boolean isDataChanged = isDirty;
+    isDirty = false;
+    boundItemExtent = itemExtent;
+    boundRotationOffset = rotationOffset;
+
+    final Point o = layout.computeOrigin(size.x, size.y);
+    final ArcTrigTable trigTable = getTrigTable(arc, itemCount);
+
+    for (int i = layout.getChildCount() - 1; i >= 0; i--) {
+      final View child = layout.getChildAt(i);
+      final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) child.getLayoutParams();
+      final int position = lp.adapterPosition;
+      if (position < itemCount && isItemInBounds(trigTable, o, radius, position)
+          && (!isDataChanged || adapter.getItemViewType(position) == lp.viewType)) {
+        if (isDataChanged) {
+          lp.invalidatePlacement();
+          adapter.onBindView(child, position);
+        }
+        continue;
+      }
+      layout.detachItemView(i);
+      recycler.addScrap(child, position);
+    }
+
+    int index = 0;
+    for (int position = 0; position < itemCount; position++) {
+      if (isBoundAt(index, position)) {
+        index++;
+        continue;
+      }
+      if (isItemInBounds(trigTable, o, radius, position)) {
+        layout.attachItemView(obtainItemView(position), index++);
+      }
+    }
+
+    recycler.recycleScrap(adapter);
+  }
+
+  /**
+   * @return true if an item without a view has been rotated into the bounds
+   */
+  boolean hasUnboundItemInBounds(Point o) {
+    final int itemCount = adapter.getItemCount();
+    if (layout.isFreeAngle() || itemCount == layout.getChildCount()) {
+      return false;
+    }
+
+    final int radius = layout.computeAxisRadius();
+    final ArcTrigTable trigTable = getTrigTable(layout.getArc(), itemCount);
+    int index = 0;
+    for (int position = 0; position < itemCount; position++) {
+      if (isBoundAt(index, position)) {
+        index++;
+        continue;
+      }
+      if (isItemInBounds(trigTable, o, radius, position)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return null if the angles are only known once the items are bound
+   */
+  private ArcTrigTable getTrigTable(Arc arc, int itemCount) {
+    return (layout.isFreeAngle() || itemCount == 0)
+        ? null
+        : ArcTrigCache.getInstance().get(arc.geometry, itemCount, layout.isReverseAngle());
+  }
+
+  private boolean isBoundAt(int index, int position) {
+    return index < layout.getChildCount() && position
+        == ((ArcLayout.LayoutParams) layout.getChildAt(index).getLayoutParams()).adapterPosition;
+  }
+
+  private boolean isItemInBounds(ArcTrigTable trigTable, Point o, int radius, int position) {
+    if (trigTable == null) {
+      return true;
+    }
+    final int extent = itemExtent;
+    final int ax = o.x + trigTable.x(position, radius);
+    final int ay = o.y + trigTable.y(position, radius);
+    final int x = layout.rotateAnchorX(ax, ay);
+    final int y = layout.rotateAnchorY(ax, ay);
+    return x >= -extent && x <= size.x + extent && y >= -extent && y <= size.y + extent;
+  }
+
+  private View obtainItemView(int position) {
+    final int viewType = adapter.getItemViewType(position);
+    View view = recycler.obtain(position, viewType);
+    if (view == null) {
+      view = adapter.onCreateView(layout, viewType);
+    }
+
+    final ViewGroup.LayoutParams p = view.getLayoutParams();
+    final ArcLayout.LayoutParams lp;
+    if (p == null) {
+      lp = (ArcLayout.LayoutParams) layout.generateDefaultLayoutParams();
+    } else if (layout.checkLayoutParams(p)) {
+      lp = (ArcLayout.LayoutParams) p;
+    } else {
+      lp = (ArcLayout.LayoutParams) layout.generateLayoutParams(p);
+    }
+    lp.adapterPosition = position;
+    lp.viewType = viewType;
+    lp.invalidatePlacement();
+    view.setLayoutParams(lp);
+
+    adapter.onBindView(view, position);
+    return view;
+  }
+
+}
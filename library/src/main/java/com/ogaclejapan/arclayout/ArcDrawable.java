@@ -23,67 +23,124 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PixelFormat;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 
 public class ArcDrawable extends Drawable {
 
-  private final Paint arcPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private static final int SHARED_STATE_CACHE_SIZE = 16;
+  private static final ArcState[] sharedStates = new ArcState[SHARED_STATE_CACHE_SIZE];
+  private static int sharedStateCursor = 0;
+
+  private final RectF arcOval = new RectF();
+  private ArcState state;
+  private boolean isMutated = false;
   private Path arcPath = null;
-  private Arc arc;
-  private int arcRadius;
+  private Arc pathArc = null;
+  private int pathRadius;
+  private boolean isPathDirty = true;
+  private int pathRebuildCount = 0;
 
   public ArcDrawable(Arc arc, int radius, int color) {
-    this.arc = arc;
-    this.arcRadius = radius;
-    this.arcPaint.setColor(color);
+    this(new ArcState(arc, radius, color));
+  }
+
+  /**
+   * Creates a drawable sharing {@code state}, see {@link ArcState}.
+   */
+  protected ArcDrawable(ArcState state) {
+    this.state = state;
+  }
+
+  /**
+   * Returns a drawable sharing its state with every other drawable obtained for the same
+   * arc, radius and color. Call {@link #mutate()} before modifying it.
+   */
+  static ArcDrawable obtainShared(Arc arc, int radius, int color) {
+    synchronized (sharedStates) {
+      for (ArcState s : sharedStates) {
+        if (s != null && s.arc == arc && s.radius == radius && s.paint.getColor() == color) {
+          return new ArcDrawable(s);
+        }
+      }
+      final ArcState s = new ArcState(arc, radius, color);
+      sharedStates[sharedStateCursor] = s;
+      sharedStateCursor = (sharedStateCursor + 1) % SHARED_STATE_CACHE_SIZE;
+      return new ArcDrawable(s);
+    }
   }
 
   public Arc getArc() {
-    return arc;
+    return state.arc;
   }
 
   public void setArc(Arc arc) {
-    this.arc = arc;
-    ensurePath();
+    if (state.arc == arc) {
+      return;
+    }
+    state.arc = arc;
+    invalidatePath();
   }
 
   public int getRadius() {
-    return arcRadius;
+    return state.radius;
   }
 
   public void setRadius(int radius) {
-    arcRadius = radius;
-    ensurePath();
+    if (state.radius == radius) {
+      return;
+    }
+    state.radius = radius;
+    invalidatePath();
   }
 
   public int getColor() {
-    return arcPaint.getColor();
+    return state.paint.getColor();
   }
 
   public void setColor(int color) {
-    arcPaint.setColor(color);
+    state.paint.setColor(color);
   }
 
   @Override
-  public void setBounds(int left, int top, int right, int bottom) {
-    super.setBounds(left, top, right, bottom);
-    ensurePath(left, top, right, bottom);
+  protected void onBoundsChange(Rect bounds) {
+    super.onBoundsChange(bounds);
+    invalidatePath();
   }
 
   @Override
   public void draw(Canvas canvas) {
-    canvas.drawPath(arcPath, arcPaint);
+    if (onDrawArc(canvas, state.paint)) {
+      return;
+    }
+    ensurePath();
+    canvas.drawPath(arcPath, state.paint);
+  }
+
+  @Override
+  public int getAlpha() {
+    return state.paint.getAlpha();
   }
 
+  /**
+   * Mutates this drawable first, so that drawables sharing its state keep their alpha.
+   */
   @Override
   public void setAlpha(int alpha) {
-    arcPaint.setAlpha(alpha);
+    mutate();
+    state.paint.setAlpha(alpha);
+    invalidateSelf();
   }
 
+  /**
+   * Mutates this drawable first, so that drawables sharing its state keep their color filter.
+   */
   @Override
   public void setColorFilter(ColorFilter cf) {
-    arcPaint.setColorFilter(cf);
+    mutate();
+    state.paint.setColorFilter(cf);
+    invalidateSelf();
   }
 
   @Override
@@ -93,31 +150,154 @@ public class ArcDrawable extends Drawable {
 
   @Override
   public int getIntrinsicWidth() {
-    return arc.computeWidth(arcRadius);
+    return state.arc.computeWidth(state.radius);
   }
 
   @Override
   public int getIntrinsicHeight() {
-    return arc.computeHeight(arcRadius);
+    return state.arc.computeHeight(state.radius);
+  }
+
+  @Override
+  public int getChangingConfigurations() {
+    return super.getChangingConfigurations() | state.changingConfigurations;
+  }
+
+  @Override
+  public ConstantState getConstantState() {
+    state.changingConfigurations = getChangingConfigurations();
+    return state;
+  }
+
+  @Override
+  public Drawable mutate() {
+    if (!isMutated && super.mutate() == this) {
+      state = state.copy();
+      isMutated = true;
+    }
+    return this;
   }
 
   @TargetApi(Build.VERSION_CODES.LOLLIPOP)
   @Override
   public void getOutline(Outline outline) {
-    if (arcPath == null || !arcPath.isConvex()) {
+    ensurePath();
+    if (!arcPath.isConvex()) {
       super.getOutline(outline);
     } else {
       outline.setConvexPath(arcPath);
     }
   }
 
+  /**
+   * Draws the arc with {@link Canvas#drawCircle} or {@link Canvas#drawArc}, which avoids path
+   * tessellation and mask generation whenever the radius changes.
+   * <p>
+   * Drawn from the path instead if {@link #hasCustomPath()} returns true.
+   *
+   * @return true if the arc has been drawn
+   */
+  protected boolean onDrawArc(Canvas canvas, Paint paint) {
+    if (hasCustomPath()) {
+      return false;
+    }
+    final Rect r = getBounds();
+    state.arc.draw(canvas, state.radius, r.left, r.top, r.right, r.bottom, arcOval, paint);
+    return true;
+  }
+
+  /**
+   * Returns true if a subclass builds its own shape in {@link #ensurePath(int, int, int, int)},
+   * so that it is drawn from the path.
+   */
+  protected boolean hasCustomPath() {
+    return false;
+  }
+
+  /**
+   * Rebuilds the path if the arc, the radius or the bounds have changed since the last build.
+   */
   protected void ensurePath() {
+    // The arc and the radius may have been changed through another drawable sharing the state
+    if (!isPathDirty && pathArc == state.arc && pathRadius == state.radius) {
+      return;
+    }
     final Rect r = getBounds();
     ensurePath(r.left, r.top, r.right, r.bottom);
+    pathArc = state.arc;
+    pathRadius = state.radius;
+    isPathDirty = false;
   }
 
   protected void ensurePath(int left, int top, int right, int bottom) {
-    arcPath = arc.computePath(arcRadius, left, top, right, bottom);
+    if (arcPath == null) {
+      arcPath = new Path();
+    }
+    state.arc.computePath(state.radius, left, top, right, bottom, arcPath);
+    pathRebuildCount++;
+  }
+
+  /**
+   * Marks the path as dirty; it is rebuilt lazily when it is needed next time.
+   */
+  protected void invalidatePath() {
+    isPathDirty = true;
+    invalidateSelf();
+  }
+
+  /**
+   * @return the number of times the path has been rebuilt. Visible for testing.
+   */
+  int getPathRebuildCount() {
+    return pathRebuildCount;
+  }
+
+  /**
+   * Geometry and paint shared by drawables created from the same state until they are mutated.
+   * The path depends on the bounds of each drawable, so it is not part of the shared state.
+   * <p>
+   * A subclass of {@link ArcDrawable} keeps its type through {@link #newDrawable()} and
+   * {@link #mutate()} by creating itself with a subclass of this state that overrides
+   * {@link #newDrawable()} and {@link #copy()}.
+   */
+  protected static class ArcState extends ConstantState {
+
+    final Paint paint;
+    Arc arc;
+    int radius;
+    int changingConfigurations;
+
+    protected ArcState(Arc arc, int radius, int color) {
+      this.arc = arc;
+      this.radius = radius;
+      this.paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+      this.paint.setColor(color);
+    }
+
+    protected ArcState(ArcState orig) {
+      this.arc = orig.arc;
+      this.radius = orig.radius;
+      this.paint = new Paint(orig.paint);
+      this.changingConfigurations = orig.changingConfigurations;
+    }
+
+    /**
+     * @return the state a drawable takes when it is mutated
+     */
+    protected ArcState copy() {
+      return new ArcState(this);
+    }
+
+    @Override
+    public Drawable newDrawable() {
+      return new ArcDrawable(this);
+    }
+
+    @Override
+    public int getChangingConfigurations() {
+      return changingConfigurations;
+    }
+
   }
 
 }
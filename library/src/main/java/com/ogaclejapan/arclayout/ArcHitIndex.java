@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Arrays;
+
+/**
+ * Resolves a point to the child of {@link ArcLayout} placed nearest to it on the axis, instead
+ * of testing overlapping child rectangles one by one.
+ * <p>
+ * The visible children are kept sorted by their angle, so a point only needs a binary search on
+ * its own angle around the origin. A hit must also fall within a band around the axis as wide
+ * as the largest child.
+ */
+class ArcHitIndex {
+
+  private float[] angles = new float[0];
+  private int[] childIndices = new int[0];
+  private long[] sortKeys = new long[0];
+  private int size;
+  private float bandHalfWidth;
+  private boolean isDirty = true;
+
+  void invalidate() {
+    isDirty = true;
+  }
+
+  /**
+   * @return the index of the child at ({@code dx}, {@code dy}) relative to the origin, or -1
+   */
+  int find(ViewGroup parent, float dx, float dy, int axisRadius) {
+    if (isDirty) {
+      rebuild(parent);
+    }
+    if (size == 0) {
+      return -1;
+    }
+
+    final float distance = (float) Math.hypot(dx, dy);
+    if (Math.abs(distance - axisRadius) > bandHalfWidth) {
+      return -1;
+    }
+
+    final float angle = (float) Math.toDegrees(Math.atan2(dy, dx));
+    final int nearest = nearestPosition(angle);
+    final float arcLength =
+        (float) Math.toRadians(angularDistance(normalize(angle), angles[nearest])) * distance;
+    return (arcLength <= bandHalfWidth) ? childIndices[nearest] : -1;
+  }
+
+  /**
+   * @return the index of the child whose angle is nearest to {@code degrees}, or -1
+   */
+  int findNearest(ViewGroup parent, float degrees) {
+    if (isDirty) {
+      rebuild(parent);
+    }
+    return (size == 0) ? -1 : childIndices[nearestPosition(degrees)];
+  }
+
+  private int nearestPosition(float degrees) {
+    final float angle = normalize(degrees);
+    final int insertion = binarySearch(angle);
+    // The nearest angle is on either side of the insertion point, wrapping around the circle
+    final int after = (insertion < size) ? insertion : 0;
+    final int before = (insertion > 0) ? insertion - 1 : size - 1;
+    return (angularDistance(angle, angles[after]) <= angularDistance(angle, angles[before]))
+        ? after
+        : before;
+  }
+
+  private void rebuild(ViewGroup parent) {
+    isDirty = false;
+
+    final int childCount = parent.getChildCount();
+    if (angles.length < childCount) {
+      angles = new float[childCount];
+      childIndices = new int[childCount];
+      sortKeys = new long[childCount];
+    }
+
+    size = 0;
+    bandHalfWidth = 0f;
+    for (int i = 0; i < childCount; i++) {
+      final View child = parent.getChildAt(i);
+      final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) child.getLayoutParams();
+      if (child.getVisibility() == View.GONE || lp.isCulled) {
+        continue;
+      }
+
+      // The bits of a non-negative float sort in the same order as the float itself
+      final float angle = normalize(lp.childAngle) + 0f;
+      sortKeys[size++] = ((long) Float.floatToIntBits(angle) << 32) | i;
+
+      bandHalfWidth = Math.max(bandHalfWidth,
+          Math.max(child.getWidth(), child.getHeight()) / 2f);
+    }
+
+    Arrays.sort(sortKeys, 0, size);
+    for (int i = 0; i < size; i++) {
+      angles[i] = Float.intBitsToFloat((int) (sortKeys[i] >>> 32));
+      childIndices[i] = (int) sortKeys[i];
+    }
+  }
+
+  private int binarySearch(float angle) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (angles[mid] < angle) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  static float normalize(float degrees) {
+    final float normalized = degrees % 360f;
+    return (normalized < 0f) ? normalized + 360f : normalized;
+  }
+
+  private static float angularDistance(float a, float b) {
+    final float delta = Math.abs(a - b);
+    return Math.min(delta, 360f - delta);
+  }
+
+}
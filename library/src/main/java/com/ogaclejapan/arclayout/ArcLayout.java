@@ -23,16 +23,25 @@ import android.graphics.Color;
 import android.graphics.Point;
 import android.os.Build;
 import android.util.AttributeSet;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityNodeInfo;
 
-import java.util.WeakHashMap;
+import com.ogaclejapan.arclayout.core.ArcTrigCache;
+import com.ogaclejapan.arclayout.core.ArcTrigTable;
 
 import static android.os.Build.VERSION_CODES.JELLY_BEAN_MR1;
 
 public class ArcLayout extends ViewGroup {
 
+  public static final int NO_POSITION = -1;
+
   private static final String TAG = "ArcLayout";
+  private static final String TRACE_MEASURE = "ArcLayout#onMeasure";
+  private static final String TRACE_LAYOUT = "ArcLayout#onLayout";
+  private static final String TRACE_DRAW = "ArcLayout#draw";
   private static final float DEFAULT_CHILD_ANGLE = 0f;
   private static final int DEFAULT_CHILD_ORIGIN = ArcOrigin.CENTER;
   private static final int DEFAULT_ORIGIN = ArcOrigin.CENTER;
@@ -41,14 +50,159 @@ public class ArcLayout extends ViewGroup {
   private static final int DEFAULT_AXIS_RADIUS = -1; //default: radius / 2
   private static final boolean DEFAULT_FREE_ANGLE = false;
   private static final boolean DEFAULT_REVERSE_ANGLE = false;
+  private static final boolean DEFAULT_WRAP_CHILDREN = false;
+  private static final float DEFAULT_EXPANSION = 1f;
+  private static final boolean DEFAULT_POLAR_HIT_TEST = false;
+  private static final boolean DEFAULT_INCREMENTAL_LAYOUT = false;
+  private static final boolean DEFAULT_VIEWPORT_CULLING = false;
+  private static final long DEFAULT_INCREMENTAL_BUDGET_NANOS = 4000000L; //4ms
+  private static final boolean DEFAULT_ROTATABLE = false;
+  private static final float DEFAULT_ROTATION_OFFSET = 0f;
+  // Bound of a fling around a full circle, which can turn any number of times
+  private static final float MAX_FULL_CIRCLE_ROTATION = 1000000f;
 
-  private final WeakHashMap<View, Float> childAngleHolder = new WeakHashMap<>();
   private Arc arc = Arc.CENTER;
   private ArcDrawable arcDrawable;
   private int axisRadius;
-  private Point size = new Point();
+  private final Point size = new Point();
+  private final Point origin = new Point();
+  private final LayoutFingerprint layoutFingerprint = new LayoutFingerprint();
   private boolean isFreeAngle = DEFAULT_FREE_ANGLE;
   private boolean isReverseAngle = DEFAULT_REVERSE_ANGLE;
+  private boolean isWrapChildren = DEFAULT_WRAP_CHILDREN;
+  private final ArcAdapterBinder binder = new ArcAdapterBinder(this, size);
+  private final Editor editor = new Editor();
+  private float expansion = DEFAULT_EXPANSION;
+  private boolean hasChildExpansion;
+  private final ArcHitIndex hitIndex = new ArcHitIndex();
+  private boolean isPolarHitTest = DEFAULT_POLAR_HIT_TEST;
+  private int polarTouchIndex = -1;
+  private View touchTarget;
+  private boolean isInterceptingDown;
+  private boolean isDisallowIntercept;
+  private final ArcMarkingTracker markingTracker = new ArcMarkingTracker(this, origin, hitIndex);
+  private int touchSlop;
+  private Monitor monitor;
+  private final Stats stats = new Stats();
+  private int childMeasureCount;
+  private ArcLayoutDiagnostics diagnostics;
+  private boolean isIncrementalLayout = DEFAULT_INCREMENTAL_LAYOUT;
+  private long incrementalBudgetNanos = DEFAULT_INCREMENTAL_BUDGET_NANOS;
+  private boolean isIncrementalPending;
+  private int layoutGeneration;
+  private boolean isViewportCulling = DEFAULT_VIEWPORT_CULLING;
+  private final ArcViewport viewport = new ArcViewport(this, size);
+  private ArcLayoutSnapshot snapshot;
+  private float rotationOffset = DEFAULT_ROTATION_OFFSET;
+  private float rotationCos = 1f;
+  private float rotationSin = 0f;
+  private boolean isRotatable = DEFAULT_ROTATABLE;
+  private ArcRotationTracker rotationTracker;
+  private boolean isRotating;
+  private long rotationDownTime = -1L;
+  private float rotationDownX;
+  private float rotationDownY;
+  private OnRotationChangeListener onRotationChangeListener;
+  private final Runnable deferredLayoutRunnable = new Runnable() {
+    @Override
+    public void run() {
+      requestLayout();
+    }
+  };
+  /**
+   * Receives the child chosen by a swipe from the origin, see {@link #setMarkingMenu(boolean)}.
+   */
+  public interface OnMarkingMenuListener {
+
+    /**
+     * Called when the child in the direction of the swipe changes, with null if there is none.
+     */
+    void onMarkingChanged(ArcLayout layout, View child);
+
+    /**
+     * Called on release with the child in the direction of the swipe, or null.
+     */
+    void onMarkingSelected(ArcLayout layout, View child);
+
+  }
+
+  /**
+   * Receives the rotation offset of the children, see {@link #setRotatable(boolean)}.
+   */
+  public interface OnRotationChangeListener {
+
+    void onRotationChanged(ArcLayout layout, float degrees);
+
+    /**
+     * Called when a fling or a snap has come to rest.
+     */
+    void onRotationSettled(ArcLayout layout, float degrees);
+
+  }
+
+  /**
+   * Receives the cost of every measure, layout and draw pass of an {@link ArcLayout}, see
+   * {@link #setMonitor(Monitor)}. The stats instance is reused across passes.
+   */
+  public interface Monitor {
+
+    void onMeasure(ArcLayout layout, Stats stats);
+
+    void onLayout(ArcLayout layout, Stats stats);
+
+    void onDraw(ArcLayout layout, Stats stats);
+
+  }
+
+  /**
+   * Cost of the last pass reported to a {@link Monitor}.
+   */
+  public static final class Stats {
+
+    long durationNanos;
+    int visibleChildCount;
+    int childMeasureCount;
+    int pathRebuildCount;
+    long trigCacheHitCount;
+    long trigCacheMissCount;
+
+    Stats() {
+    }
+
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+
+    public int getVisibleChildCount() {
+      return visibleChildCount;
+    }
+
+    /**
+     * @return the number of children measured by the last measure pass, the rest were skipped
+     */
+    public int getChildMeasureCount() {
+      return childMeasureCount;
+    }
+
+    /**
+     * @return the number of times the path of the arc was rebuilt by the last draw pass
+     */
+    public int getPathRebuildCount() {
+      return pathRebuildCount;
+    }
+
+    /**
+     * @return the hits of the angle cache shared by every layout since the process started
+     */
+    public long getTrigCacheHitCount() {
+      return trigCacheHitCount;
+    }
+
+    public long getTrigCacheMissCount() {
+      return trigCacheMissCount;
+    }
+
+  }
 
   public ArcLayout(Context context) {
     this(context, null);
@@ -86,6 +240,8 @@ public class ArcLayout extends ViewGroup {
         R.styleable.arc_ArcLayout_arc_freeAngle, DEFAULT_FREE_ANGLE);
     boolean isArcReverseAngle = a.getBoolean(
         R.styleable.arc_ArcLayout_arc_reverseAngle, DEFAULT_REVERSE_ANGLE);
+    boolean isArcWrapChildren = a.getBoolean(
+        R.styleable.arc_ArcLayout_arc_wrapChildren, DEFAULT_WRAP_CHILDREN);
     a.recycle();
 
     if (Build.VERSION.SDK_INT >= JELLY_BEAN_MR1) {
@@ -93,10 +249,12 @@ public class ArcLayout extends ViewGroup {
     }
 
     arc = Arc.of(arcOrigin);
-    arcDrawable = new ArcDrawable(arc, arcRadius, arcColor);
+    arcDrawable = ArcDrawable.obtainShared(arc, arcRadius, arcColor);
     axisRadius = arcAxisRadius;
     isFreeAngle = isArcFreeAngle;
     isReverseAngle = isArcReverseAngle;
+    isWrapChildren = isArcWrapChildren;
+    touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
 
   }
 
@@ -108,10 +266,35 @@ public class ArcLayout extends ViewGroup {
           MeasureSpec.toString(heightMeasureSpec));
     }
 
-    size.x = Utils.computeMeasureSize(widthMeasureSpec, arcDrawable.getIntrinsicWidth());
-    size.y = Utils.computeMeasureSize(heightMeasureSpec, arcDrawable.getIntrinsicHeight());
+    Utils.beginSection(TRACE_MEASURE);
+    try {
+      final long startNanos = (monitor != null) ? System.nanoTime() : 0L;
+      childMeasureCount = 0;
+
+      size.x = Utils.computeMeasureSize(widthMeasureSpec, arcDrawable.getIntrinsicWidth());
+      size.y = Utils.computeMeasureSize(heightMeasureSpec, arcDrawable.getIntrinsicHeight());
+
+      if (!isInEditMode()) {
+        final long deadlineNanos = isIncrementalLayout
+            ? System.nanoTime() + incrementalBudgetNanos
+            : Long.MAX_VALUE;
+        if (isWrapChildren) {
+          computeWrapChildrenSize(widthMeasureSpec, heightMeasureSpec);
+        }
+        placeChildren(deadlineNanos);
+        if (isWrapChildren && computeWrapChildrenSize(widthMeasureSpec, heightMeasureSpec)) {
+          placeChildren(deadlineNanos);
+        }
+      }
+
+      setMeasuredDimension(size.x, size.y);
 
-    setMeasuredDimension(size.x, size.y);
+      if (monitor != null) {
+        monitor.onMeasure(this, updateStats(startNanos));
+      }
+    } finally {
+      Utils.endSection();
+    }
 
     if (Utils.DEBUG) {
       Utils.d(TAG, "setMeasuredDimension: w=%d, h=%d", size.x, size.y);
@@ -128,39 +311,503 @@ public class ArcLayout extends ViewGroup {
       Utils.d(TAG, "onLayout: l=%d, t=%d, r=%d, b=%d", l, t, r, b);
     }
 
-    arcDrawable.setBounds(0, 0, r - l, b - t);
+    Utils.beginSection(TRACE_LAYOUT);
+    try {
+      final long startNanos = (monitor != null) ? System.nanoTime() : 0L;
+
+      arcDrawable.setBounds(0, 0, r - l, b - t);
+
+      for (int i = 0, size = getChildCount(); i < size; i++) {
+        final View child = getChildAt(i);
+        if (child.getVisibility() == View.GONE) {
+          continue;
+        }
+
+        final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+        lp.isMeasuredSinceLayout = false;
+        if (lp.isCulled) {
+          // Keeps the bounds of its last layout
+          continue;
+        }
+        if (lp.isLayoutPending || child.isLayoutRequested()) {
+          childLayoutBy(child, lp.childX, lp.childY);
+          lp.isLayoutPending = false;
+        }
+      }
 
-    final Point o = arc.computeOrigin(0, 0, size.x, size.y);
-    final int radius = (axisRadius == DEFAULT_AXIS_RADIUS)
-        ? arcDrawable.getRadius() / 2
-        : axisRadius;
-    final float perDegrees = arc.computePerDegrees(getChildCountWithoutGone());
+      if (hasChildTranslation()) {
+        applyChildTranslations();
+      }
+
+      hitIndex.invalidate();
+      if (isViewportCulling) {
+        viewport.update();
+        if (viewport.hasCulledChildInside()) {
+          postLayout();
+        }
+      }
+
+      if (diagnostics != null) {
+        diagnostics.onLayout(this);
+      }
+      if (monitor != null) {
+        monitor.onLayout(this, updateStats(startNanos));
+      }
+    } finally {
+      Utils.endSection();
+    }
+  }
+
+  @Override
+  public boolean dispatchTouchEvent(MotionEvent ev) {
+    if (!isPolarHitTest && !isViewportCulling) {
+      return super.dispatchTouchEvent(ev);
+    }
+
+    if ((ev.getAction() & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_DOWN) {
+      touchTarget = null;
+      isDisallowIntercept = false;
+      final float x = ev.getX() + getScrollX();
+      final float y = ev.getY() + getScrollY();
+      // Scaled children are not where the index expects them
+      final int index = (isPolarHitTest && !isChildScaled() && !markingTracker.canStart(x, y))
+          ? findChildIndexAt(x, y)
+          : -1;
+      if (index >= 0) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+          return dispatchInDrawingOrder(ev, index);
+        }
+        return dispatchDownToChild(ev, getChildAt(index));
+      }
+      if (isViewportCulling && viewport.hasCulledChildAt(x, y)) {
+        return dispatchDownSkippingCulled(ev, x, y);
+      }
+      return super.dispatchTouchEvent(ev);
+    }
 
-    int arcIndex = 0;
+    return (touchTarget != null)
+        ? dispatchToTouchTarget(ev)
+        : super.dispatchTouchEvent(ev);
+  }
+
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  private boolean dispatchInDrawingOrder(MotionEvent ev, int index) {
+    final boolean wasEnabled = isChildrenDrawingOrderEnabled();
+    polarTouchIndex = index;
+    setChildrenDrawingOrderEnabled(true);
+    try {
+      return super.dispatchTouchEvent(ev);
+    } finally {
+      setChildrenDrawingOrderEnabled(wasEnabled);
+      polarTouchIndex = -1;
+    }
+  }
+
+  private boolean dispatchDownToChild(MotionEvent ev, View child) {
+    if (!onInterceptTouchEvent(ev) && dispatchToChild(child, ev)) {
+      touchTarget = child;
+      return true;
+    }
+    return super.dispatchTouchEvent(ev);
+  }
+
+  private boolean dispatchDownSkippingCulled(MotionEvent ev, float x, float y) {
+    if (!onInterceptTouchEvent(ev)) {
+      for (int i = getChildCount() - 1; i >= 0; i--) {
+        final View child = getChildAt(i);
+        if (child.getVisibility() == View.VISIBLE
+            && !((LayoutParams) child.getLayoutParams()).isCulled
+            && ArcViewport.isInChild(child, x, y) && dispatchToChild(child, ev)) {
+          touchTarget = child;
+          return true;
+        }
+      }
+    }
+    isInterceptingDown = true;
+    try {
+      return super.dispatchTouchEvent(ev);
+    } finally {
+      isInterceptingDown = false;
+    }
+  }
+
+  private boolean dispatchToTouchTarget(MotionEvent ev) {
+    final View target = touchTarget;
+    final int action = ev.getAction() & MotionEvent.ACTION_MASK;
+    if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+      touchTarget = null;
+    }
+
+    if (!isDisallowIntercept && onInterceptTouchEvent(ev)) {
+      touchTarget = null;
+      final MotionEvent cancel = MotionEvent.obtain(ev);
+      cancel.setAction(MotionEvent.ACTION_CANCEL);
+      dispatchToChild(target, cancel);
+      cancel.recycle();
+      return true;
+    }
+    return dispatchToChild(target, ev);
+  }
+
+  private boolean dispatchToChild(View child, MotionEvent ev) {
+    final float offsetX = getScrollX() - child.getLeft() - getChildTranslationX(child);
+    final float offsetY = getScrollY() - child.getTop() - getChildTranslationY(child);
+    ev.offsetLocation(offsetX, offsetY);
+    try {
+      return child.dispatchTouchEvent(ev);
+    } finally {
+      ev.offsetLocation(-offsetX, -offsetY);
+    }
+  }
+
+  @Override
+  public void requestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+    isDisallowIntercept = disallowIntercept;
+    super.requestDisallowInterceptTouchEvent(disallowIntercept);
+  }
+
+  @Override
+  protected int getChildDrawingOrder(int childCount, int i) {
+    final int target = polarTouchIndex;
+    if (target < 0 || target >= childCount) {
+      return super.getChildDrawingOrder(childCount, i);
+    }
+    if (i == childCount - 1) {
+      return target;
+    }
+    return (i < target) ? i : i + 1;
+  }
+
+  @Override
+  public boolean onInterceptTouchEvent(MotionEvent ev) {
+    if (isInterceptingDown) {
+      return true;
+    }
+    if ((ev.getAction() & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_DOWN
+        && markingTracker.canStart(ev.getX() + getScrollX(), ev.getY() + getScrollY())) {
+      markingTracker.start();
+      if (getParent() != null) {
+        getParent().requestDisallowInterceptTouchEvent(true);
+      }
+      return true;
+    }
+    if (isRotatable && !markingTracker.isMarking() && trackRotation(ev)) {
+      return true;
+    }
+    return super.onInterceptTouchEvent(ev);
+  }
+
+  @Override
+  public boolean onTouchEvent(MotionEvent ev) {
+    if (markingTracker.isMarking()) {
+      markingTracker.onTouchEvent(ev);
+      return true;
+    }
+    return isRotatable ? onRotationTouchEvent(ev) : super.onTouchEvent(ev);
+  }
+
+  private boolean onRotationTouchEvent(MotionEvent ev) {
+    final boolean wasRotating = isRotating;
+    if (trackRotation(ev) || wasRotating) {
+      if (!wasRotating && (ev.getAction() & MotionEvent.ACTION_MASK) != MotionEvent.ACTION_DOWN) {
+        final MotionEvent cancel = MotionEvent.obtain(ev);
+        cancel.setAction(MotionEvent.ACTION_CANCEL);
+        super.onTouchEvent(cancel);
+        cancel.recycle();
+      }
+      return true;
+    }
+    final boolean handled = super.onTouchEvent(ev);
+    if (!handled && (ev.getAction() & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_DOWN) {
+      finishRotation();
+    }
+    return handled;
+  }
+
+  private boolean trackRotation(MotionEvent ev) {
+    final float dx = ev.getX() + getScrollX() - origin.x;
+    final float dy = ev.getY() + getScrollY() - origin.y;
+    switch (ev.getAction() & MotionEvent.ACTION_MASK) {
+      case MotionEvent.ACTION_DOWN:
+        if (ev.getDownTime() == rotationDownTime) {
+          // Already seen by onInterceptTouchEvent
+          break;
+        }
+        rotationDownTime = ev.getDownTime();
+        rotationDownX = ev.getX();
+        rotationDownY = ev.getY();
+        isRotating = !rotationTracker.isFinished();
+        rotationTracker.start(ev, dx, dy);
+        if (isRotating && getParent() != null) {
+          getParent().requestDisallowInterceptTouchEvent(true);
+        }
+        break;
+      case MotionEvent.ACTION_MOVE:
+        final float delta = rotationTracker.track(ev, dx, dy);
+        if (isRotating) {
+          setRotationOffsetInternal(clampRotation(rotationOffset + delta));
+        } else if (Math.hypot(ev.getX() - rotationDownX, ev.getY() - rotationDownY) > touchSlop) {
+          isRotating = true;
+          if (getParent() != null) {
+            getParent().requestDisallowInterceptTouchEvent(true);
+          }
+        }
+        break;
+      case MotionEvent.ACTION_UP:
+        rotationTracker.track(ev, dx, dy);
+        settleRotation(isRotating ? rotationTracker.computeVelocity(dx, dy) : 0f);
+        finishRotation();
+        break;
+      case MotionEvent.ACTION_CANCEL:
+        settleRotation(0f);
+        finishRotation();
+        break;
+      default:
+        break;
+    }
+    return isRotating;
+  }
+
+  private void finishRotation() {
+    rotationTracker.stop();
+    rotationDownTime = -1L;
+    isRotating = false;
+  }
+
+  private void settleRotation(float velocity) {
+    final float limit = computeRotationLimit();
+    final float target = (velocity != 0f)
+        ? computeSnapRotation(rotationTracker.fling(rotationOffset, velocity, -limit, limit))
+        : computeSnapRotation(rotationOffset);
+    if (target == rotationOffset) {
+      rotationTracker.abort();
+      normalizeRotation();
+      if (isRotating && onRotationChangeListener != null) {
+        onRotationChangeListener.onRotationSettled(this, rotationOffset);
+      }
+      return;
+    }
+    rotationTracker.settleTo(rotationOffset, target);
+    invalidateOnAnimation();
+  }
+
+  @Override
+  public void computeScroll() {
+    super.computeScroll();
+    if (rotationTracker == null || !rotationTracker.computeRotation()) {
+      return;
+    }
+    setRotationOffsetInternal(rotationTracker.getRotation());
+    if (!rotationTracker.isFinished()) {
+      invalidateOnAnimation();
+      return;
+    }
+    normalizeRotation();
+    if (onRotationChangeListener != null) {
+      onRotationChangeListener.onRotationSettled(this, rotationOffset);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private void invalidateOnAnimation() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      postInvalidateOnAnimation();
+    } else {
+      invalidate();
+    }
+  }
+
+  private void placeChildren(long deadlineNanos) {
+    binder.populate();
+    measureChildrenOnArc(deadlineNanos);
+    if (binder.getAdapter() != null && binder.isExtentChanged()) {
+      binder.populate();
+      measureChildrenOnArc(deadlineNanos);
+    }
+  }
+
+  private void measureChildrenOnArc(long deadlineNanos) {
+    final int radius = computeAxisRadius();
+    final int arcCount = getArcCount();
+    final ArcLayoutSnapshot s = (snapshot != null && snapshot.matches(
+        size.x, size.y, arc, radius, arcCount, isFreeAngle, isReverseAngle)) ? snapshot : null;
+    final Point o = (s != null)
+        ? setPoint(origin, s.originX, s.originY)
+        : arc.computeOrigin(0, 0, size.x, size.y, origin);
+    if (layoutFingerprint.update(size.x, size.y, arc, radius, arcCount, isFreeAngle,
+        isReverseAngle, getLayoutDirectionCompat())) {
+      layoutGeneration++;
+    }
+    isIncrementalPending = false;
+    if (arcCount == 0) {
+      viewport.setMargin(0);
+      return;
+    }
+
+    final ArcTrigTable trigTable = (isFreeAngle || s != null)
+        ? null
+        : ArcTrigCache.getInstance().get(arc.geometry, arcCount, isReverseAngle);
+
+    boolean isOutOfBudget = false;
+    int visibleIndex = 0;
+    int extent = 0;
 
     for (int i = 0, size = getChildCount(); i < size; i++) {
       final View child = getChildAt(i);
       if (child.getVisibility() == View.GONE) {
         continue;
       }
+      extent = Math.max(extent, Math.max(child.getMeasuredWidth(), child.getMeasuredHeight()));
 
       final LayoutParams lp = (LayoutParams) child.getLayoutParams();
-      float childAngle;
-      if (isFreeAngle) {
+      final int arcIndex = (binder.getAdapter() != null) ? lp.adapterPosition : visibleIndex++;
+      if (lp.placedGeneration == layoutGeneration && lp.isPlacedAt(arcIndex)
+          && !child.isLayoutRequested() && !lp.isCulled) {
+        continue;
+      }
+
+      if (isOutOfBudget) {
+        isIncrementalPending = true;
+        continue;
+      }
+
+      final float childAngle;
+      final int x;
+      final int y;
+      if (s != null && s.matchesChildAngle(arcIndex, lp.angle)) {
+        childAngle = s.getChildAngle(arcIndex);
+        x = s.getChildX(arcIndex);
+        y = s.getChildY(arcIndex);
+      } else if (trigTable == null) {
         childAngle = arc.startAngle + lp.angle;
-      } else if (isReverseAngle) {
-        childAngle = arc.computeReverseDegrees(arcIndex++, perDegrees);
+        x = o.x + Arc.x(radius, childAngle);
+        y = o.y + Arc.y(radius, childAngle);
       } else {
-        childAngle = arc.computeDegrees(arcIndex++, perDegrees);
+        childAngle = trigTable.degrees(arcIndex);
+        x = o.x + trigTable.x(arcIndex, radius);
+        y = o.y + trigTable.y(arcIndex, radius);
       }
 
-      final int x = o.x + Arc.x(radius, childAngle);
-      final int y = o.y + Arc.y(radius, childAngle);
+      if (isViewportCulling && viewport.getMargin() > 0 && !viewport.containsAnchor(x, y)) {
+        lp.onCulled(layoutGeneration, arcIndex, childAngle, x, y);
+        continue;
+      }
 
       childMeasureBy(child, x, y);
-      childLayoutBy(child, x, y);
+      extent = Math.max(extent, Math.max(child.getMeasuredWidth(), child.getMeasuredHeight()));
+
+      lp.onPlaced(layoutGeneration, arcIndex, childAngle, x, y);
 
-      childAngleHolder.put(child, childAngle);
+      if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() >= deadlineNanos) {
+        isOutOfBudget = true;
+      }
+    }
+    viewport.setMargin(extent);
+
+    if (isIncrementalPending) {
+      postLayout();
+    }
+  }
+
+  private static Point setPoint(Point out, int x, int y) {
+    out.set(x, y);
+    return out;
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private void postLayout() {
+    removeCallbacks(deferredLayoutRunnable);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      postOnAnimation(deferredLayoutRunnable);
+    } else {
+      post(deferredLayoutRunnable);
+    }
+  }
+
+  int computeAxisRadius() {
+    return (axisRadius == DEFAULT_AXIS_RADIUS)
+        ? arcDrawable.getRadius() / 2
+        : axisRadius;
+  }
+
+  /**
+   * @return true if the size has changed
+   */
+  private boolean computeWrapChildrenSize(int widthMeasureSpec, int heightMeasureSpec) {
+    final int arcWidth = arcDrawable.getIntrinsicWidth();
+    final int arcHeight = arcDrawable.getIntrinsicHeight();
+    final int arcOriginX = arc.geometry.computeOriginX(0, arcWidth);
+    final int arcOriginY = arc.geometry.computeOriginY(0, arcHeight);
+
+    int left = -arcOriginX;
+    int top = -arcOriginY;
+    int right = arcWidth - arcOriginX;
+    int bottom = arcHeight - arcOriginY;
+
+    final int radius = computeAxisRadius();
+    final int arcCount = getArcCount();
+    final ArcTrigTable trigTable = (isFreeAngle || arcCount == 0)
+        ? null
+        : ArcTrigCache.getInstance().get(arc.geometry, arcCount, isReverseAngle);
+    int visibleIndex = 0;
+
+    for (int i = 0, size = getChildCount(); i < size; i++) {
+      final View child = getChildAt(i);
+      if (child.getVisibility() == View.GONE) {
+        continue;
+      }
+
+      final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+      final int arcIndex = (binder.getAdapter() != null) ? lp.adapterPosition : visibleIndex++;
+      final int x;
+      final int y;
+      if (trigTable == null) {
+        x = Arc.x(radius, arc.startAngle + lp.angle);
+        y = Arc.y(radius, arc.startAngle + lp.angle);
+      } else {
+        x = trigTable.x(arcIndex, radius);
+        y = trigTable.y(arcIndex, radius);
+      }
+
+      final int width = (lp.width >= 0) ? lp.width : child.getMeasuredWidth();
+      final int height = (lp.height >= 0) ? lp.height : child.getMeasuredHeight();
+      final int childOrigin = getAbsoluteChildOrigin(lp);
+      final int childLeft = Utils.computeLeft(childOrigin, x, width);
+      final int childTop = Utils.computeTop(childOrigin, y, height);
+      left = Math.min(left, childLeft);
+      top = Math.min(top, childTop);
+      right = Math.max(right, childLeft + width);
+      bottom = Math.max(bottom, childTop + height);
+    }
+
+    final int width = Utils.computeMeasureSize(widthMeasureSpec,
+        arc.geometry.computeWidthToFit(left, right));
+    final int height = Utils.computeMeasureSize(heightMeasureSpec,
+        arc.geometry.computeHeightToFit(top, bottom));
+    if (width == size.x && height == size.y) {
+      return false;
+    }
+
+    size.set(width, height);
+    return true;
+  }
+
+  @Override
+  public void draw(Canvas canvas) {
+    Utils.beginSection(TRACE_DRAW);
+    try {
+      if (monitor == null) {
+        super.draw(canvas);
+      } else {
+        final long startNanos = System.nanoTime();
+        final int pathRebuildCount = arcDrawable.getPathRebuildCount();
+        super.draw(canvas);
+        final Stats stats = updateStats(startNanos);
+        stats.pathRebuildCount = arcDrawable.getPathRebuildCount() - pathRebuildCount;
+        monitor.onDraw(this, stats);
+      }
+    } finally {
+      Utils.endSection();
     }
   }
 
@@ -174,13 +821,57 @@ public class ArcLayout extends ViewGroup {
     arcDrawable.draw(canvas);
   }
 
+  @Override
+  protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+    if (isViewportCulling) {
+      final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+      if (lp.isCulled) {
+        return false;
+      }
+      // Translated children are drawn elsewhere than their bounds
+      if (!hasChildTranslation() && !viewport.intersects(child)) {
+        return false;
+      }
+    }
+    return super.drawChild(canvas, child, drawingTime);
+  }
+
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  @Override
+  public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+    super.onInitializeAccessibilityNodeInfo(info);
+    if (isViewportCulling && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+      viewport.removeCulledChildren(info);
+    }
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    if (isViewportCulling) {
+      viewport.addListener();
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    viewport.removeListener();
+    removeCallbacks(deferredLayoutRunnable);
+    if (rotationTracker != null) {
+      rotationTracker.abort();
+      rotationTracker.stop();
+    }
+  }
+
   public int getArcColor() {
     return arcDrawable.getColor();
   }
 
   public void setArcColor(int color) {
-    arcDrawable.setColor(color);
+    mutableArcDrawable().setColor(color);
     invalidate();
+    noteRequest(false);
   }
 
   public Arc getArc() {
@@ -189,8 +880,9 @@ public class ArcLayout extends ViewGroup {
 
   public void setArc(Arc arc) {
     this.arc = arc;
-    arcDrawable.setArc(arc);
+    mutableArcDrawable().setArc(arc);
     requestLayout();
+    noteRequest(true);
   }
 
   public int getRadius() {
@@ -198,8 +890,9 @@ public class ArcLayout extends ViewGroup {
   }
 
   public void setRadius(int radius) {
-    arcDrawable.setRadius(radius);
+    mutableArcDrawable().setRadius(radius);
     requestLayout();
+    noteRequest(true);
   }
 
   public int getAxisRadius() {
@@ -209,6 +902,7 @@ public class ArcLayout extends ViewGroup {
   public void setAxisRadius(int radius) {
     axisRadius = radius;
     requestLayout();
+    noteRequest(true);
   }
 
   public boolean isFreeAngle() {
@@ -218,6 +912,7 @@ public class ArcLayout extends ViewGroup {
   public void setFreeAngle(boolean b) {
     isFreeAngle = b;
     requestLayout();
+    noteRequest(true);
   }
 
   public boolean isReverseAngle() {
@@ -227,18 +922,469 @@ public class ArcLayout extends ViewGroup {
   public void setReverseAngle(boolean b) {
     isReverseAngle = b;
     requestLayout();
+    noteRequest(true);
+  }
+
+  public boolean isWrapChildren() {
+    return isWrapChildren;
+  }
+
+  /**
+   * When enabled, a WRAP_CONTENT dimension wraps the children placed on the arc as well as
+   * the arc itself.
+   */
+  public void setWrapChildren(boolean b) {
+    isWrapChildren = b;
+    requestLayout();
+    noteRequest(true);
+  }
+
+  public ArcAdapter getAdapter() {
+    return binder.getAdapter();
+  }
+
+  /**
+   * Sets the adapter providing the children, binding only the items within the bounds.
+   */
+  public void setAdapter(ArcAdapter adapter) {
+    removeAllViews();
+    binder.setAdapter(adapter);
+    requestLayout();
+  }
+
+  /**
+   * @throws IllegalStateException if an adapter has been set, which provides every child
+   */
+  @Override
+  public void addView(View child, int index, ViewGroup.LayoutParams params) {
+    if (binder.getAdapter() != null) {
+      throw new IllegalStateException("Children are provided by the adapter");
+    }
+    super.addView(child, index, params);
+  }
+
+  /**
+   * Sets the number of detached views kept for reuse per view type.
+   */
+  public void setMaxRecycledViews(int max) {
+    binder.setMaxRecycledViews(max);
+  }
+
+  /**
+   * @return the adapter position of the given child, or {@link #NO_POSITION}
+   */
+  public int getChildAdapterPosition(View child) {
+    final ViewGroup.LayoutParams lp = child.getLayoutParams();
+    return (binder.getAdapter() != null && lp instanceof LayoutParams)
+        ? ((LayoutParams) lp).adapterPosition
+        : NO_POSITION;
+  }
+  void attachItemView(View child, int index) {
+    addViewInLayout(child, index, child.getLayoutParams(), true);
+  }
+
+  void detachItemView(int index) {
+    removeViewsInLayout(index, 1);
   }
 
   public Point getOrigin() {
-    return arc.computeOrigin(getLeft(), getTop(), getRight(), getBottom());
+    return getOrigin(new Point());
+  }
+
+  /**
+   * Same as {@link #getOrigin()} but stores the result in {@code out}.
+   *
+   * @return the given {@code out}
+   */
+  public Point getOrigin(Point out) {
+    return arc.computeOrigin(getLeft(), getTop(), getRight(), getBottom(), out);
   }
 
   public float getChildAngleAt(int index) {
     return getChildAngleAt(getChildAt(index));
   }
 
+  /**
+   * @return the angle of the child including the rotation offset
+   */
   public float getChildAngleAt(View v) {
-    return (childAngleHolder.containsKey(v)) ? childAngleHolder.get(v) : 0f;
+    final ViewGroup.LayoutParams lp = (v != null) ? v.getLayoutParams() : null;
+    return (lp instanceof LayoutParams) ? ((LayoutParams) lp).childAngle + rotationOffset : 0f;
+  }
+
+  public float getExpansion() {
+    return expansion;
+  }
+
+  /**
+   * Moves every child from the origin (0) to its position on the arc (1) by its translation.
+   * Has no effect before API 11.
+   */
+  public void setExpansion(float expansion) {
+    if (this.expansion == expansion) {
+      return;
+    }
+    this.expansion = expansion;
+    applyChildTranslations();
+  }
+
+  private boolean hasChildTranslation() {
+    return isChildScaled() || rotationOffset != DEFAULT_ROTATION_OFFSET;
+  }
+
+  private boolean isChildScaled() {
+    return expansion != DEFAULT_EXPANSION || hasChildExpansion;
+  }
+
+  void setChildExpansion(View child, float expansion) {
+    final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+    if (lp.childExpansion == expansion) {
+      return;
+    }
+    lp.childExpansion = expansion;
+    if (expansion != DEFAULT_EXPANSION) {
+      hasChildExpansion = true;
+    }
+    applyChildTranslation(child, lp);
+  }
+
+  private void applyChildTranslations() {
+    boolean hasChildExpansion = false;
+    for (int i = 0, size = getChildCount(); i < size; i++) {
+      final View child = getChildAt(i);
+      final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+      hasChildExpansion |= lp.childExpansion != DEFAULT_EXPANSION;
+      applyChildTranslation(child, lp);
+    }
+    this.hasChildExpansion = hasChildExpansion;
+  }
+
+  private void applyChildTranslation(View child, LayoutParams lp) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+      return;
+    }
+    final float ax = lp.childX - origin.x;
+    final float ay = lp.childY - origin.y;
+    final float rx = ax * rotationCos - ay * rotationSin;
+    final float ry = ax * rotationSin + ay * rotationCos;
+    final float scale = expansion * lp.childExpansion;
+    setChildTranslation(child, rx * scale - ax, ry * scale - ay);
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  static float getChildTranslationX(View child) {
+    return (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+        ? child.getTranslationX()
+        : 0f;
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  static float getChildTranslationY(View child) {
+    return (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+        ? child.getTranslationY()
+        : 0f;
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private static void setChildTranslation(View child, float x, float y) {
+    child.setTranslationX(x);
+    child.setTranslationY(y);
+  }
+
+  public boolean isRotatable() {
+    return isRotatable;
+  }
+
+  /**
+   * When enabled, dragging around the origin rotates the children like a wheel, and releasing
+   * flings them until they snap to the slots of the arc. Has no effect before API 11.
+   */
+  public void setRotatable(boolean b) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+      return;
+    }
+    isRotatable = b;
+    if (b && rotationTracker == null) {
+      rotationTracker = new ArcRotationTracker(getContext());
+    } else if (!b && rotationTracker != null) {
+      rotationTracker.abort();
+      finishRotation();
+    }
+  }
+
+  public float getRotationOffset() {
+    return rotationOffset;
+  }
+
+  /**
+   * Rotates every child around the origin by {@code degrees} without a layout pass.
+   * Has no effect before API 11.
+   */
+  public void setRotationOffset(float degrees) {
+    if (rotationTracker != null) {
+      rotationTracker.abort();
+    }
+    setRotationOffsetInternal(degrees);
+  }
+
+  /**
+   * Animates the rotation offset to {@code degrees}, e.g. to bring an item to a given slot.
+   * Requires {@link #setRotatable(boolean)}.
+   */
+  public void smoothRotateTo(float degrees) {
+    if (rotationTracker == null) {
+      return;
+    }
+    rotationTracker.abort();
+    rotationTracker.settleTo(rotationOffset, degrees);
+    invalidateOnAnimation();
+  }
+
+  public void setOnRotationChangeListener(OnRotationChangeListener listener) {
+    onRotationChangeListener = listener;
+  }
+
+  private void setRotationOffsetInternal(float degrees) {
+    if (rotationOffset == degrees) {
+      return;
+    }
+    rotationOffset = degrees;
+    final double radians = Math.toRadians(degrees);
+    rotationCos = (float) Math.cos(radians);
+    rotationSin = (float) Math.sin(radians);
+    applyChildTranslations();
+
+    if ((isViewportCulling && viewport.hasCulledChildInside())
+        || (binder.getAdapter() != null && binder.hasUnboundItemInBounds(origin))) {
+      requestLayout();
+    }
+    if (onRotationChangeListener != null) {
+      onRotationChangeListener.onRotationChanged(this, degrees);
+    }
+  }
+
+  int rotateAnchorX(int x, int y) {
+    if (rotationOffset == DEFAULT_ROTATION_OFFSET) {
+      return x;
+    }
+    return origin.x + Math.round((x - origin.x) * rotationCos - (y - origin.y) * rotationSin);
+  }
+
+  int rotateAnchorY(int x, int y) {
+    if (rotationOffset == DEFAULT_ROTATION_OFFSET) {
+      return y;
+    }
+    return origin.y + Math.round((x - origin.x) * rotationSin + (y - origin.y) * rotationCos);
+  }
+
+  private void normalizeRotation() {
+    if (arc.sweepAngle >= 360) {
+      setRotationOffsetInternal(ArcHitIndex.normalize(rotationOffset));
+    }
+  }
+
+  float computeSnapRotation(float degrees) {
+    final int count = getRotationItemCount();
+    if (count == 0) {
+      return degrees;
+    }
+    final float perDegrees = arc.computePerDegrees(count);
+    return clampRotation(Math.round(degrees / perDegrees) * perDegrees);
+  }
+
+  private float clampRotation(float degrees) {
+    final float limit = computeRotationLimit();
+    return Math.max(-limit, Math.min(limit, degrees));
+  }
+
+  private float computeRotationLimit() {
+    final int count = getRotationItemCount();
+    if (arc.sweepAngle >= 360 || count == 0) {
+      return MAX_FULL_CIRCLE_ROTATION;
+    }
+    return arc.sweepAngle - arc.computePerDegrees(count);
+  }
+
+  private int getRotationItemCount() {
+    return getArcCount();
+  }
+
+  public boolean isPolarHitTest() {
+    return isPolarHitTest;
+  }
+
+  /**
+   * When enabled, a touch goes to the child placed nearest to it on the arc rather than to the
+   * topmost child whose rectangle contains it.
+   */
+  public void setPolarHitTest(boolean b) {
+    isPolarHitTest = b;
+    touchTarget = null;
+  }
+
+  /**
+   * @return the visible child placed nearest to ({@code x}, {@code y}) on the arc, or null if
+   * the point is farther from any child than half the size of the largest one
+   */
+  public View findChildAt(float x, float y) {
+    final int index = findChildIndexAt(x, y);
+    return (index >= 0) ? getChildAt(index) : null;
+  }
+
+  private int findChildIndexAt(float x, float y) {
+    final float dx = x - origin.x;
+    final float dy = y - origin.y;
+    final int index = hitIndex.find(this,
+        dx * rotationCos + dy * rotationSin, dy * rotationCos - dx * rotationSin,
+        computeAxisRadius());
+    if (index < 0 || index >= getChildCount()) {
+      return -1;
+    }
+    return (getChildAt(index).getVisibility() == View.VISIBLE) ? index : -1;
+  }
+
+  public boolean isMarkingMenu() {
+    return markingTracker.isEnabled();
+  }
+
+  /**
+   * When enabled, a press within half the axis radius of the origin starts a marking menu
+   * gesture instead of touching the children: swiping toward a child highlights it as pressed,
+   * and releasing selects it. See {@link #setOnMarkingMenuListener(OnMarkingMenuListener)}.
+   */
+  public void setMarkingMenu(boolean b) {
+    markingTracker.setEnabled(b);
+  }
+
+  public void setOnMarkingMenuListener(OnMarkingMenuListener listener) {
+    markingTracker.setListener(listener);
+  }
+
+  public boolean isIncrementalLayout() {
+    return isIncrementalLayout;
+  }
+
+  /**
+   * When enabled, a measure pass places children only until its budget is spent, see
+   * {@link #setIncrementalBudgetNanos(long)}. The rest are placed on the next frames.
+   */
+  public void setIncrementalLayout(boolean b) {
+    isIncrementalLayout = b;
+    requestLayout();
+  }
+
+  public long getIncrementalBudgetNanos() {
+    return incrementalBudgetNanos;
+  }
+
+  /**
+   * @param budgetNanos time a measure pass may spend placing children in incremental mode; at
+   * least one child is placed per pass regardless
+   */
+  public void setIncrementalBudgetNanos(long budgetNanos) {
+    incrementalBudgetNanos = budgetNanos;
+  }
+
+  /**
+   * @return true if some children are still waiting to be placed by a later frame
+   */
+  public boolean isIncrementalLayoutPending() {
+    return isIncrementalPending;
+  }
+
+  /**
+   * Takes the properties and the precomputed geometry of a snapshot, used as long as the size
+   * and children of this layout match it. {@code null} drops the current snapshot.
+   */
+  public void applySnapshot(ArcLayoutSnapshot snapshot) {
+    if (snapshot == null) {
+      if (this.snapshot != null) {
+        this.snapshot = null;
+        layoutGeneration++;
+        requestLayout();
+      }
+      return;
+    }
+    this.snapshot = snapshot;
+    edit()
+        .arc(snapshot.arc)
+        .radius(snapshot.radius)
+        .axisRadius(snapshot.axisRadius)
+        .freeAngle(snapshot.isFreeAngle)
+        .reverseAngle(snapshot.isReverseAngle)
+        .apply();
+  }
+
+  public boolean isViewportCulling() {
+    return isViewportCulling;
+  }
+
+  /**
+   * When enabled, children far outside the visible part of this layout are neither measured,
+   * laid out, drawn nor touched until scrolling brings them into view.
+   */
+  public void setViewportCulling(boolean b) {
+    if (isViewportCulling == b) {
+      return;
+    }
+    isViewportCulling = b;
+    viewport.reset();
+    if (getWindowToken() != null) {
+      if (b) {
+        viewport.addListener();
+      } else {
+        viewport.removeListener();
+      }
+    }
+    requestLayout();
+  }
+
+  public Monitor getMonitor() {
+    return monitor;
+  }
+
+  /**
+   * Reports the cost of every pass to {@code monitor}, or stops with null. Passes are also
+   * marked as trace sections on API 18 and later regardless of the monitor.
+   */
+  public void setMonitor(Monitor monitor) {
+    this.monitor = monitor;
+  }
+
+  public ArcLayoutDiagnostics getDiagnostics() {
+    return diagnostics;
+  }
+
+  /**
+   * Reports redundant layouts and measures of this layout to {@code diagnostics}, or stops with
+   * null. Intended for debug builds, see {@link ArcLayoutDiagnostics}.
+   */
+  public void setDiagnostics(ArcLayoutDiagnostics diagnostics) {
+    this.diagnostics = diagnostics;
+  }
+
+  private void noteRequest(boolean isLayout) {
+    if (diagnostics != null) {
+      diagnostics.onRequest(isLayout);
+    }
+  }
+
+  private Stats updateStats(long startNanos) {
+    final ArcTrigCache trigCache = ArcTrigCache.getInstance();
+    stats.durationNanos = System.nanoTime() - startNanos;
+    stats.visibleChildCount = getChildCountWithoutGone();
+    stats.childMeasureCount = childMeasureCount;
+    stats.pathRebuildCount = 0;
+    stats.trigCacheHitCount = trigCache.hitCount();
+    stats.trigCacheMissCount = trigCache.missCount();
+    return stats;
+  }
+
+  /**
+   * Starts a batch of property changes applied with a single layout pass.
+   */
+  public Editor edit() {
+    return editor.reset();
   }
 
   public int getChildCountWithoutGone() {
@@ -250,6 +1396,31 @@ public class ArcLayout extends ViewGroup {
     }
     return childCount;
   }
+  private int getArcCount() {
+    final ArcAdapter adapter = binder.getAdapter();
+    return (adapter != null) ? adapter.getItemCount() : getChildCountWithoutGone();
+  }
+
+  Point computeOrigin(int width, int height) {
+    return arc.computeOrigin(0, 0, width, height, origin);
+  }
+
+  private ArcDrawable mutableArcDrawable() {
+    arcDrawable.mutate();
+    return arcDrawable;
+  }
+
+  int getLayoutDirectionCompat() {
+    return (Build.VERSION.SDK_INT >= JELLY_BEAN_MR1) ? getLayoutDirection() : 0;
+  }
+
+  private int getAbsoluteChildOrigin(LayoutParams lp) {
+    int origin = lp.origin;
+    if (Build.VERSION.SDK_INT >= JELLY_BEAN_MR1) {
+      origin = ArcOrigin.getAbsoluteOrigin(origin, getLayoutDirection());
+    }
+    return origin;
+  }
 
   protected void childMeasureBy(View child, int x, int y) {
     if (Utils.DEBUG) {
@@ -257,10 +1428,7 @@ public class ArcLayout extends ViewGroup {
     }
 
     final LayoutParams lp = (LayoutParams) child.getLayoutParams();
-    int origin = lp.origin;
-    if (Build.VERSION.SDK_INT >= JELLY_BEAN_MR1) {
-      origin = ArcOrigin.getAbsoluteOrigin(origin, getLayoutDirection());
-    }
+    final int origin = getAbsoluteChildOrigin(lp);
 
     int widthSize;
     int widthMode;
@@ -296,10 +1464,27 @@ public class ArcLayout extends ViewGroup {
         heightMode = MeasureSpec.EXACTLY;
     }
 
-    child.measure(
-        MeasureSpec.makeMeasureSpec(widthSize, widthMode),
-        MeasureSpec.makeMeasureSpec(heightSize, heightMode)
-    );
+    final int childWidthMeasureSpec = MeasureSpec.makeMeasureSpec(widthSize, widthMode);
+    final int childHeightMeasureSpec = MeasureSpec.makeMeasureSpec(heightSize, heightMode);
+    if (childWidthMeasureSpec == lp.widthMeasureSpec
+        && childHeightMeasureSpec == lp.heightMeasureSpec) {
+      if (!child.isLayoutRequested()) {
+        return;
+      }
+      if (diagnostics != null && lp.isMeasuredSinceLayout) {
+        diagnostics.onRedundantMeasure(this, child);
+      }
+    }
+
+    child.measure(childWidthMeasureSpec, childHeightMeasureSpec);
+    lp.isMeasuredSinceLayout = true;
+    childMeasureCount++;
+    viewport.growMargin(child);
+    if (binder.getAdapter() != null) {
+      binder.onItemMeasured(child);
+    }
+    lp.widthMeasureSpec = childWidthMeasureSpec;
+    lp.heightMeasureSpec = childHeightMeasureSpec;
 
   }
 
@@ -309,37 +1494,12 @@ public class ArcLayout extends ViewGroup {
     }
 
     final LayoutParams lp = (LayoutParams) child.getLayoutParams();
-    int origin = lp.origin;
-    if (Build.VERSION.SDK_INT >= JELLY_BEAN_MR1) {
-      origin = ArcOrigin.getAbsoluteOrigin(origin, getLayoutDirection());
-    }
+    final int origin = getAbsoluteChildOrigin(lp);
 
     final int width = child.getMeasuredWidth();
     final int height = child.getMeasuredHeight();
-
-    int left;
-    switch (origin & ArcOrigin.HORIZONTAL_MASK) {
-      case ArcOrigin.LEFT:
-        left = x;
-        break;
-      case ArcOrigin.RIGHT:
-        left = x - width;
-        break;
-      default:
-        left = x - (width / 2);
-    }
-
-    int top;
-    switch (origin & ArcOrigin.VERTICAL_MASK) {
-      case ArcOrigin.TOP:
-        top = y;
-        break;
-      case ArcOrigin.BOTTOM:
-        top = y - height;
-        break;
-      default:
-        top = y - (height / 2);
-    }
+    final int left = Utils.computeLeft(origin, x, width);
+    final int top = Utils.computeTop(origin, y, height);
 
     child.layout(left, top, left + width, top + height);
 
@@ -359,16 +1519,188 @@ public class ArcLayout extends ViewGroup {
     return new LayoutParams(getContext(), attrs);
   }
 
+  @Override
+  protected boolean checkLayoutParams(ViewGroup.LayoutParams p) {
+    return p instanceof LayoutParams;
+  }
+
   @Override
   protected ViewGroup.LayoutParams generateDefaultLayoutParams() {
     return new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
   }
 
+  /**
+   * Batches property changes of {@link ArcLayout}, see {@link #edit()}.
+   */
+  public final class Editor {
+
+    private Arc arc;
+    private int radius;
+    private int axisRadius;
+    private int color;
+    private boolean isFreeAngle;
+    private boolean isReverseAngle;
+    private boolean isWrapChildren;
+
+    private Editor() {
+    }
+
+    private Editor reset() {
+      arc = ArcLayout.this.arc;
+      radius = arcDrawable.getRadius();
+      axisRadius = ArcLayout.this.axisRadius;
+      color = arcDrawable.getColor();
+      isFreeAngle = ArcLayout.this.isFreeAngle;
+      isReverseAngle = ArcLayout.this.isReverseAngle;
+      isWrapChildren = ArcLayout.this.isWrapChildren;
+      return this;
+    }
+
+    public Editor arc(Arc arc) {
+      this.arc = arc;
+      return this;
+    }
+
+    public Editor radius(int radius) {
+      this.radius = radius;
+      return this;
+    }
+
+    public Editor axisRadius(int axisRadius) {
+      this.axisRadius = axisRadius;
+      return this;
+    }
+
+    public Editor color(int color) {
+      this.color = color;
+      return this;
+    }
+
+    public Editor freeAngle(boolean b) {
+      isFreeAngle = b;
+      return this;
+    }
+
+    public Editor reverseAngle(boolean b) {
+      isReverseAngle = b;
+      return this;
+    }
+
+    public Editor wrapChildren(boolean b) {
+      isWrapChildren = b;
+      return this;
+    }
+
+    /**
+     * Applies the changes, requesting a layout only if the geometry changed.
+     */
+    public void apply() {
+      boolean isLayoutChanged = false;
+      boolean isDrawChanged = false;
+
+      if (arc != ArcLayout.this.arc) {
+        ArcLayout.this.arc = arc;
+        mutableArcDrawable().setArc(arc);
+        isLayoutChanged = true;
+      }
+      if (radius != arcDrawable.getRadius()) {
+        mutableArcDrawable().setRadius(radius);
+        isLayoutChanged = true;
+      }
+      if (axisRadius != ArcLayout.this.axisRadius) {
+        ArcLayout.this.axisRadius = axisRadius;
+        isLayoutChanged = true;
+      }
+      if (isFreeAngle != ArcLayout.this.isFreeAngle) {
+        ArcLayout.this.isFreeAngle = isFreeAngle;
+        isLayoutChanged = true;
+      }
+      if (isReverseAngle != ArcLayout.this.isReverseAngle) {
+        ArcLayout.this.isReverseAngle = isReverseAngle;
+        isLayoutChanged = true;
+      }
+      if (isWrapChildren != ArcLayout.this.isWrapChildren) {
+        ArcLayout.this.isWrapChildren = isWrapChildren;
+        isLayoutChanged = true;
+      }
+      if (color != arcDrawable.getColor()) {
+        mutableArcDrawable().setColor(color);
+        isDrawChanged = true;
+      }
+
+      if (isLayoutChanged) {
+        requestLayout();
+        invalidate();
+        noteRequest(true);
+      } else if (isDrawChanged) {
+        invalidate();
+        noteRequest(false);
+      }
+    }
+
+  }
+
+  static class LayoutFingerprint {
+
+    private int width = -1;
+    private int height = -1;
+    private Arc arc;
+    private int axisRadius;
+    private int childCount;
+    private boolean isFreeAngle;
+    private boolean isReverseAngle;
+    private int layoutDirection;
+
+    boolean update(int width, int height, Arc arc, int axisRadius, int childCount,
+        boolean isFreeAngle, boolean isReverseAngle, int layoutDirection) {
+      final boolean changed = this.width != width
+          || this.height != height
+          || this.arc != arc
+          || this.axisRadius != axisRadius
+          || this.childCount != childCount
+          || this.isFreeAngle != isFreeAngle
+          || this.isReverseAngle != isReverseAngle
+          || this.layoutDirection != layoutDirection;
+      this.width = width;
+      this.height = height;
+      this.arc = arc;
+      this.axisRadius = axisRadius;
+      this.childCount = childCount;
+      this.isFreeAngle = isFreeAngle;
+      this.isReverseAngle = isReverseAngle;
+      this.layoutDirection = layoutDirection;
+      return changed;
+    }
+
+  }
+
   public static class LayoutParams extends MarginLayoutParams {
 
     public int origin = DEFAULT_CHILD_ORIGIN;
     public float angle = DEFAULT_CHILD_ANGLE;
 
+    // Computed by the last measure pass
+    int arcIndex = -1;
+    int placedGeneration = -1;
+    boolean isCulled;
+    float childAngle = DEFAULT_CHILD_ANGLE;
+    int childX;
+    int childY;
+    boolean isLayoutPending;
+    boolean isMeasuredSinceLayout;
+    float childExpansion = DEFAULT_EXPANSION;
+    int adapterPosition = NO_POSITION;
+    int viewType;
+    // Never produced by childMeasureBy (UNSPECIFIED), so the first measure is never skipped
+    int widthMeasureSpec = 0;
+    int heightMeasureSpec = 0;
+
+    // Public fields as of the last measure pass, to notice direct modifications
+    private int laidOutOrigin;
+    private float laidOutAngle;
+    private int laidOutWidth;
+    private int laidOutHeight;
+
     public LayoutParams(Context c, AttributeSet attrs) {
       super(c, attrs);
       TypedArray a = c.getTheme()
@@ -390,5 +1722,39 @@ public class ArcLayout extends ViewGroup {
       super(source);
     }
 
+    void invalidatePlacement() {
+      arcIndex = -1;
+      widthMeasureSpec = 0;
+      heightMeasureSpec = 0;
+    }
+
+    boolean isPlacedAt(int arcIndex) {
+      return this.arcIndex == arcIndex
+          && laidOutOrigin == origin
+          && laidOutAngle == angle
+          && laidOutWidth == width
+          && laidOutHeight == height;
+    }
+
+    void onCulled(int generation, int arcIndex, float childAngle, int childX, int childY) {
+      onPlaced(generation, arcIndex, childAngle, childX, childY);
+      isLayoutPending = false;
+      isCulled = true;
+    }
+
+    void onPlaced(int generation, int arcIndex, float childAngle, int childX, int childY) {
+      isLayoutPending = true;
+      isCulled = false;
+      placedGeneration = generation;
+      this.arcIndex = arcIndex;
+      this.childAngle = childAngle;
+      this.childX = childX;
+      this.childY = childY;
+      laidOutOrigin = origin;
+      laidOutAngle = angle;
+      laidOutWidth = width;
+      laidOutHeight = height;
+    }
+
   }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Opt-in diagnostics of redundant work in {@link ArcLayout}, see
+ * {@link ArcLayout#setDiagnostics(ArcLayoutDiagnostics)}.
+ * <p>
+ * Counts the layouts and invalidates requested through the setters of the layout, and reports
+ * a layout pass that runs more than once between two frames of the {@link Choreographer}, or a
+ * child that is measured again with unchanged specs before it was laid out. A report carries the
+ * call site of the last setter that requested a layout in the frame, so it is meant for debug
+ * builds only.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+public class ArcLayoutDiagnostics implements Choreographer.FrameCallback {
+
+  public interface Reporter {
+
+    /**
+     * @param callSite the stack of the last setter that requested a layout in the frame, or
+     * null if no setter did
+     */
+    void onReport(ArcLayout layout, String message, Throwable callSite);
+
+  }
+
+  private static final String TAG = "ArcLayoutDiagnostics";
+
+  /**
+   * Logs every report as a warning.
+   */
+  public static final Reporter LOG_REPORTER = new Reporter() {
+    @Override
+    public void onReport(ArcLayout layout, String message, Throwable callSite) {
+      Log.w(TAG, message, callSite);
+    }
+  };
+
+  private final Reporter reporter;
+  private Choreographer choreographer;
+  private boolean isFramePending;
+  private int layoutCountInFrame;
+  private Throwable lastCallSite;
+  private int requestLayoutCount;
+  private int invalidateCount;
+  private int redundantLayoutCount;
+  private int redundantMeasureCount;
+
+  public ArcLayoutDiagnostics() {
+    this(LOG_REPORTER);
+  }
+
+  public ArcLayoutDiagnostics(Reporter reporter) {
+    this.reporter = reporter;
+  }
+
+  /**
+   * @return the layouts requested through the setters of the layout
+   */
+  public int getRequestLayoutCount() {
+    return requestLayoutCount;
+  }
+
+  /**
+   * @return the redraws requested through the setters of the layout without a layout
+   */
+  public int getInvalidateCount() {
+    return invalidateCount;
+  }
+
+  /**
+   * @return the layout passes that ran in a frame that had been laid out already
+   */
+  public int getRedundantLayoutCount() {
+    return redundantLayoutCount;
+  }
+
+  /**
+   * @return the children measured again with the same specs before their last measure was laid
+   * out
+   */
+  public int getRedundantMeasureCount() {
+    return redundantMeasureCount;
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    isFramePending = false;
+    layoutCountInFrame = 0;
+    lastCallSite = null;
+  }
+
+  void onRequest(boolean isLayout) {
+    if (isLayout) {
+      requestLayoutCount++;
+      lastCallSite = new Throwable("ArcLayout#requestLayout");
+    } else {
+      invalidateCount++;
+    }
+  }
+
+  void onLayout(ArcLayout layout) {
+    if (!isFramePending) {
+      isFramePending = true;
+      if (choreographer == null) {
+        choreographer = Choreographer.getInstance();
+      }
+      choreographer.postFrameCallback(this);
+    }
+
+    if (++layoutCountInFrame > 1) {
+      redundantLayoutCount++;
+      reporter.onReport(layout,
+          "Laid out " + layoutCountInFrame + " times in a frame", lastCallSite);
+    }
+  }
+
+  void onRedundantMeasure(ArcLayout layout, View child) {
+    redundantMeasureCount++;
+    reporter.onReport(layout, "Measured child " + layout.indexOfChild(child)
+        + " again with unchanged specs before its layout", lastCallSite);
+  }
+
+}
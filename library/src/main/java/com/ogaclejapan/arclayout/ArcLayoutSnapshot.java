@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.graphics.Point;
+
+import com.ogaclejapan.arclayout.core.ArcTrigCache;
+import com.ogaclejapan.arclayout.core.ArcTrigTable;
+
+/**
+ * Immutable geometry of an {@link ArcLayout}: the origin and the angle and anchor of every child,
+ * computed from plain inputs so that it can be built on any thread.
+ * <pre>
+ * // On a background thread
+ * ArcLayoutSnapshot snapshot = new ArcLayoutSnapshot.Builder(Arc.LEFT)
+ *     .radius(radius)
+ *     .axisRadius(axisRadius)
+ *     .size(width, height)
+ *     .childCount(items.size())
+ *     .build();
+ *
+ * // On the UI thread
+ * arcLayout.applySnapshot(snapshot);
+ * </pre>
+ * A layout pass of {@link ArcLayout} uses the snapshot as long as its size, arc and children
+ * still match it, and computes the geometry itself otherwise. The size and origin of each child
+ * are still resolved by the layout pass.
+ */
+public final class ArcLayoutSnapshot {
+
+  final Arc arc;
+  final int radius;
+  final int axisRadius;
+  final boolean isFreeAngle;
+  final boolean isReverseAngle;
+  final int width;
+  final int height;
+  final int originX;
+  final int originY;
+  final int childCount;
+  private final float[] childAngleHints;
+  private final float[] childAngles;
+  private final int[] childXs;
+  private final int[] childYs;
+
+  private ArcLayoutSnapshot(Builder builder) {
+    arc = builder.arc;
+    radius = builder.radius;
+    axisRadius = builder.axisRadius;
+    isFreeAngle = builder.isFreeAngle;
+    isReverseAngle = builder.isReverseAngle;
+    width = (builder.width >= 0) ? builder.width : arc.computeWidth(radius);
+    height = (builder.height >= 0) ? builder.height : arc.computeHeight(radius);
+    childCount = builder.childCount;
+    childAngleHints = copyOf(builder.childAngleHints, childCount);
+
+    final Point origin = arc.computeOrigin(0, 0, width, height, new Point());
+    originX = origin.x;
+    originY = origin.y;
+
+    final int r = computeAxisRadius();
+    childAngles = new float[childCount];
+    childXs = new int[childCount];
+    childYs = new int[childCount];
+    if (childCount == 0) {
+      return;
+    }
+
+    final ArcTrigTable trigTable = isFreeAngle
+        ? null
+        : ArcTrigCache.getInstance().get(arc.geometry, childCount, isReverseAngle);
+    for (int i = 0; i < childCount; i++) {
+      if (trigTable == null) {
+        childAngles[i] = arc.startAngle + childAngleHints[i];
+        childXs[i] = originX + Arc.x(r, childAngles[i]);
+        childYs[i] = originY + Arc.y(r, childAngles[i]);
+      } else {
+        childAngles[i] = trigTable.degrees(i);
+        childXs[i] = originX + trigTable.x(i, r);
+        childYs[i] = originY + trigTable.y(i, r);
+      }
+    }
+  }
+
+  public Arc getArc() {
+    return arc;
+  }
+
+  public int getRadius() {
+    return radius;
+  }
+
+  public int getAxisRadius() {
+    return axisRadius;
+  }
+
+  public boolean isFreeAngle() {
+    return isFreeAngle;
+  }
+
+  public boolean isReverseAngle() {
+    return isReverseAngle;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getOriginX() {
+    return originX;
+  }
+
+  public int getOriginY() {
+    return originY;
+  }
+
+  public int getChildCount() {
+    return childCount;
+  }
+
+  public float getChildAngle(int index) {
+    return childAngles[index];
+  }
+
+  public int getChildX(int index) {
+    return childXs[index];
+  }
+
+  public int getChildY(int index) {
+    return childYs[index];
+  }
+
+  int computeAxisRadius() {
+    return (axisRadius < 0) ? radius / 2 : axisRadius;
+  }
+
+  /**
+   * @return true if the snapshot was computed from the same inputs as the given layout pass
+   */
+  boolean matches(int width, int height, Arc arc, int axisRadius, int childCount,
+      boolean isFreeAngle, boolean isReverseAngle) {
+    return this.width == width
+        && this.height == height
+        && this.arc == arc
+        && computeAxisRadius() == axisRadius
+        && this.childCount == childCount
+        && this.isFreeAngle == isFreeAngle
+        && this.isReverseAngle == isReverseAngle;
+  }
+
+  /**
+   * @return true if the angle of the child in free angle mode is still the one of the snapshot
+   */
+  boolean matchesChildAngle(int index, float angle) {
+    return !isFreeAngle || childAngleHints[index] == angle;
+  }
+
+  private static float[] copyOf(float[] array, int length) {
+    final float[] copy = new float[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+  public static final class Builder {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Arc arc;
+    private int radius;
+    private int axisRadius = -1;
+    private boolean isFreeAngle;
+    private boolean isReverseAngle;
+    private int width = -1;
+    private int height = -1;
+    private int childCount;
+    private float[] childAngleHints = new float[INITIAL_CAPACITY];
+
+    public Builder(Arc arc) {
+      if (arc == null) {
+        throw new IllegalArgumentException("arc == null");
+      }
+      this.arc = arc;
+    }
+
+    public Builder radius(int radius) {
+      this.radius = radius;
+      return this;
+    }
+
+    /**
+     * @param axisRadius the axis radius, or -1 (default) for half of the radius like
+     * {@link ArcLayout}
+     */
+    public Builder axisRadius(int axisRadius) {
+      this.axisRadius = axisRadius;
+      return this;
+    }
+
+    public Builder freeAngle(boolean b) {
+      isFreeAngle = b;
+      return this;
+    }
+
+    public Builder reverseAngle(boolean b) {
+      isReverseAngle = b;
+      return this;
+    }
+
+    /**
+     * Sets the size the layout will have. Defaults to the size of the arc, which is the size of
+     * an {@link ArcLayout} with WRAP_CONTENT.
+     */
+    public Builder size(int width, int height) {
+      this.width = width;
+      this.height = height;
+      return this;
+    }
+
+    /**
+     * Adds {@code count} children.
+     */
+    public Builder childCount(int count) {
+      for (int i = 0; i < count; i++) {
+        addChild(0f);
+      }
+      return this;
+    }
+
+    /**
+     * @param angle the angle of the child in free angle mode, see
+     * {@link ArcLayout.LayoutParams#angle}
+     */
+    public Builder addChild(float angle) {
+      if (childCount == childAngleHints.length) {
+        childAngleHints = copyOf(childAngleHints, childCount * 2);
+      }
+      childAngleHints[childCount] = angle;
+      childCount++;
+      return this;
+    }
+
+    public ArcLayoutSnapshot build() {
+      return new ArcLayoutSnapshot(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.graphics.Point;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+
+/**
+ * Tracks a marking menu gesture of {@link ArcLayout}: a press near the origin, then a swipe
+ * toward the child to select.
+ */
+class ArcMarkingTracker {
+
+  private final ArcLayout layout;
+  private final Point origin;
+  private final ArcHitIndex hitIndex;
+  private final int touchSlop;
+  private boolean isEnabled;
+  private boolean isMarking;
+  private View markingChild;
+  private ArcLayout.OnMarkingMenuListener listener;
+
+  ArcMarkingTracker(ArcLayout layout, Point origin, ArcHitIndex hitIndex) {
+    this.layout = layout;
+    this.origin = origin;
+    this.hitIndex = hitIndex;
+    touchSlop = ViewConfiguration.get(layout.getContext()).getScaledTouchSlop();
+  }
+
+  boolean isEnabled() {
+    return isEnabled;
+  }
+
+  void setEnabled(boolean b) {
+    isEnabled = b;
+  }
+
+  void setListener(ArcLayout.OnMarkingMenuListener listener) {
+    this.listener = listener;
+  }
+
+  boolean isMarking() {
+    return isMarking;
+  }
+
+  /**
+   * @return true if a press at ({@code x}, {@code y}) is within half the axis radius
+   */
+  boolean canStart(float x, float y) {
+    if (!isEnabled || layout.getChildCountWithoutGone() == 0) {
+      return false;
+    }
+    final float radius = layout.computeAxisRadius() / 2f;
+    final float dx = x - origin.x;
+    final float dy = y - origin.y;
+    return dx * dx + dy * dy <= radius * radius;
+  }
+
+  void start() {
+    isMarking = true;
+  }
+
+  void onTouchEvent(MotionEvent ev) {
+    final float scrollX = layout.getScrollX();
+    final float scrollY = layout.getScrollY();
+    switch (ev.getAction() & MotionEvent.ACTION_MASK) {
+      case MotionEvent.ACTION_MOVE:
+        // Every sample since the last event, so that a fast swipe does not skip a child
+        for (int h = 0, size = ev.getHistorySize(); h < size; h++) {
+          track(ev.getHistoricalX(h) + scrollX, ev.getHistoricalY(h) + scrollY);
+        }
+        track(ev.getX() + scrollX, ev.getY() + scrollY);
+        break;
+      case MotionEvent.ACTION_UP:
+        track(ev.getX() + scrollX, ev.getY() + scrollY);
+        finish(true);
+        break;
+      case MotionEvent.ACTION_CANCEL:
+        finish(false);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void track(float x, float y) {
+    final float dx = x - origin.x;
+    final float dy = y - origin.y;
+    if (dx * dx + dy * dy < touchSlop * touchSlop) {
+      setMarkingChild(null);
+      return;
+    }
+
+    final Arc arc = layout.getArc();
+    final float rotationOffset = layout.getRotationOffset();
+    final float angle = (float) Math.toDegrees(Math.atan2(dy, dx));
+    if (ArcHitIndex.normalize(angle - rotationOffset - arc.startAngle) > arc.sweepAngle) {
+      setMarkingChild(null);
+      return;
+    }
+
+    final int index = hitIndex.findNearest(layout, angle - rotationOffset);
+    final View child = (index >= 0 && index < layout.getChildCount())
+        ? layout.getChildAt(index)
+        : null;
+    setMarkingChild((child != null && child.getVisibility() == View.VISIBLE) ? child : null);
+  }
+
+  private void setMarkingChild(View child) {
+    if (markingChild == child) {
+      return;
+    }
+    if (markingChild != null) {
+      markingChild.setPressed(false);
+    }
+    markingChild = child;
+    if (child != null) {
+      child.setPressed(true);
+    }
+    if (listener != null) {
+      listener.onMarkingChanged(layout, child);
+    }
+  }
+
+  private void finish(boolean isSelected) {
+    isMarking = false;
+    final View selected = markingChild;
+    if (!isSelected) {
+      setMarkingChild(null);
+      return;
+    }
+
+    if (selected != null) {
+      selected.setPressed(false);
+      markingChild = null;
+    }
+    if (listener != null) {
+      listener.onMarkingSelected(layout, selected);
+    }
+  }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Property;
+
+/**
+ * Properties of {@link ArcLayout} for {@link android.animation.ObjectAnimator}.
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+public final class ArcProperties {
+
+  /**
+   * Animates {@link ArcLayout#setExpansion(float)}, e.g. to expand a radial menu from its origin:
+   * <pre>
+   * ObjectAnimator.ofFloat(arcLayout, ArcProperties.EXPANSION, 0f, 1f).start();
+   * </pre>
+   */
+  public static final Property<ArcLayout, Float> EXPANSION =
+      new Property<ArcLayout, Float>(Float.class, "expansion") {
+        @Override
+        public Float get(ArcLayout layout) {
+          return layout.getExpansion();
+        }
+
+        @Override
+        public void set(ArcLayout layout, Float value) {
+          layout.setExpansion(value);
+        }
+      };
+
+  private ArcProperties() {}
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.util.SparseArray;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps the views of an {@link ArcAdapter} detached from {@link ArcLayout} for reuse.
+ * <p>
+ * Views detached while repopulating go to the scrap first, keyed by position, so an item that
+ * stays within the bounds gets its previous view back. Whatever is left in the scrap afterwards
+ * moves to a pool keyed by view type.
+ */
+class ArcRecycler {
+
+  static final int DEFAULT_MAX_POOL_SIZE = 5;
+
+  private final SparseArray<View> scrap = new SparseArray<>();
+  private final SparseArray<ArrayList<View>> pool = new SparseArray<>();
+  private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+
+  void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+    for (int i = 0, size = pool.size(); i < size; i++) {
+      final ArrayList<View> views = pool.valueAt(i);
+      while (views.size() > maxPoolSize) {
+        views.remove(views.size() - 1);
+      }
+    }
+  }
+
+  void addScrap(View view, int position) {
+    scrap.put(position, view);
+  }
+
+  /**
+   * @return a view of the given type, preferring the one that showed the same position
+   */
+  View obtain(int position, int viewType) {
+    final View scrapped = scrap.get(position);
+    if (scrapped != null && getViewType(scrapped) == viewType) {
+      scrap.remove(position);
+      return scrapped;
+    }
+
+    final ArrayList<View> views = pool.get(viewType);
+    if (views != null && !views.isEmpty()) {
+      return views.remove(views.size() - 1);
+    }
+
+    // Any scrap of the same type will do before inflating a new one
+    for (int i = scrap.size() - 1; i >= 0; i--) {
+      final View view = scrap.valueAt(i);
+      if (getViewType(view) == viewType) {
+        scrap.removeAt(i);
+        return view;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Moves the views left in the scrap to the pool.
+   */
+  void recycleScrap(ArcAdapter adapter) {
+    for (int i = 0, size = scrap.size(); i < size; i++) {
+      recycle(adapter, scrap.valueAt(i));
+    }
+    scrap.clear();
+  }
+
+  void recycle(ArcAdapter adapter, View view) {
+    final int viewType = getViewType(view);
+    ArrayList<View> views = pool.get(viewType);
+    if (views == null) {
+      views = new ArrayList<>(maxPoolSize);
+      pool.put(viewType, views);
+    }
+    if (views.size() < maxPoolSize) {
+      adapter.onViewRecycled(view);
+      views.add(view);
+    }
+  }
+
+  void clear() {
+    scrap.clear();
+    pool.clear();
+  }
+
+  private static int getViewType(View view) {
+    return ((ArcLayout.LayoutParams) view.getLayoutParams()).viewType;
+  }
+
+}
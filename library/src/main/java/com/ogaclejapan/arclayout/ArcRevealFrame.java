@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Point;
+import android.graphics.Shader;
+import android.os.Build;
+import android.util.AttributeSet;
+import android.view.ViewAnimationUtils;
+import android.widget.FrameLayout;
+
+/**
+ * A FrameLayout that reveals or hides its content with a circle growing or shrinking around a
+ * point, typically the origin of an {@link ArcLayout} inside it.
+ * <p>
+ * Uses {@link ViewAnimationUtils#createCircularReveal} on API 21 and later. Before that, the
+ * content is rendered once into a cached layer when the reveal starts, and every frame draws
+ * an antialiased circle filled with that layer instead of clipping to a path. The content is
+ * therefore frozen until the reveal ends, when the layer is released.
+ * <p>
+ * The reveals return an {@link Animator}, so they require API 11.
+ */
+public class ArcRevealFrame extends FrameLayout {
+
+  private final Point origin = new Point();
+  private final Paint revealPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private Bitmap revealLayer;
+  private boolean isRevealing;
+  private float revealCenterX;
+  private float revealCenterY;
+  private float revealRadius;
+
+  public ArcRevealFrame(Context context) {
+    super(context);
+  }
+
+  public ArcRevealFrame(Context context, AttributeSet attrs) {
+    super(context, attrs);
+  }
+
+  public ArcRevealFrame(Context context, AttributeSet attrs, int defStyleAttr) {
+    super(context, attrs, defStyleAttr);
+  }
+
+  /**
+   * Creates an animator that reveals this frame from {@code startRadius} to {@code endRadius}
+   * around ({@code centerX}, {@code centerY}), or hides it when the end is the smaller one.
+   * Requires API 11.
+   */
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  public Animator createReveal(int centerX, int centerY, float startRadius, float endRadius) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+      return createCircularReveal(centerX, centerY, startRadius, endRadius);
+    }
+    return createLayerReveal(centerX, centerY, startRadius, endRadius);
+  }
+
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  private Animator createCircularReveal(int centerX, int centerY, float startRadius,
+      float endRadius) {
+    return ViewAnimationUtils.createCircularReveal(
+        this, centerX, centerY, startRadius, endRadius);
+  }
+
+  /**
+   * Same as {@link #createReveal(int, int, float, float)} around the origin of the given
+   * {@link ArcLayout}, which must be a direct child of this frame. Requires API 11.
+   */
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  public Animator createReveal(ArcLayout arcLayout, float startRadius, float endRadius) {
+    final Point o = arcLayout.getOrigin(origin);
+    return createReveal(o.x, o.y, startRadius, endRadius);
+  }
+
+  /**
+   * @return the radius of the circle around the point that covers this frame entirely
+   */
+  public float computeCoverRadius(int x, int y) {
+    return (float) Math.hypot(Math.max(x, getWidth() - x), Math.max(y, getHeight() - y));
+  }
+
+  @Override
+  public void draw(Canvas canvas) {
+    if (!isRevealing) {
+      super.draw(canvas);
+      return;
+    }
+
+    canvas.drawCircle(revealCenterX, revealCenterY, revealRadius, revealPaint);
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    isRevealing = false;
+    releaseRevealLayer();
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private Animator createLayerReveal(int centerX, int centerY, final float startRadius,
+      final float endRadius) {
+    final ValueAnimator reveal = ValueAnimator.ofFloat(0f, 1f);
+    reveal.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+      @Override
+      public void onAnimationUpdate(ValueAnimator animation) {
+        // The fraction avoids boxing the animated value on every frame
+        final float fraction = animation.getAnimatedFraction();
+        revealRadius = startRadius + (endRadius - startRadius) * fraction;
+        invalidate();
+      }
+    });
+    reveal.addListener(new AnimatorListenerAdapter() {
+      @Override
+      public void onAnimationStart(Animator animation) {
+        startLayerReveal();
+      }
+
+      @Override
+      public void onAnimationCancel(Animator animation) {
+        finishLayerReveal();
+      }
+
+      @Override
+      public void onAnimationEnd(Animator animation) {
+        finishLayerReveal();
+      }
+    });
+
+    revealCenterX = centerX;
+    revealCenterY = centerY;
+    revealRadius = startRadius;
+    return reveal;
+  }
+
+  private void startLayerReveal() {
+    final int width = getWidth();
+    final int height = getHeight();
+    if (width == 0 || height == 0) {
+      return;
+    }
+
+    releaseRevealLayer();
+    revealLayer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    revealPaint.setShader(
+        new BitmapShader(revealLayer, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP));
+
+    // Render the content while it is not revealing, then keep drawing it through the circle
+    isRevealing = false;
+    super.draw(new Canvas(revealLayer));
+    isRevealing = true;
+    invalidate();
+  }
+
+  private void finishLayerReveal() {
+    // A full-frame layer is too large to keep between reveals
+    isRevealing = false;
+    releaseRevealLayer();
+    invalidate();
+  }
+
+  private void releaseRevealLayer() {
+    if (revealLayer != null) {
+      revealPaint.setShader(null);
+      revealLayer.recycle();
+      revealLayer = null;
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
+import android.view.animation.AnimationUtils;
+import android.widget.OverScroller;
+
+/**
+ * Turns drags around the origin of an {@link ArcLayout} into rotation offsets, and flings
+ * them to a snapped offset. Touch points are relative to the origin and angles are in degrees.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+final class ArcRotationTracker {
+
+  // The scroller works on ints, so degrees are scaled to keep fractions of a degree
+  private static final float SCROLLER_UNITS_PER_DEGREE = 100f;
+  private static final int SNAP_DURATION_MILLIS = 250;
+
+  private final OverScroller scroller;
+  private final int minimumVelocity;
+  private final int maximumVelocity;
+  private VelocityTracker velocityTracker;
+  private float lastAngle;
+  private long flingEndTime;
+
+  ArcRotationTracker(Context context) {
+    final ViewConfiguration config = ViewConfiguration.get(context);
+    scroller = new OverScroller(context);
+    minimumVelocity = config.getScaledMinimumFlingVelocity();
+    maximumVelocity = config.getScaledMaximumFlingVelocity();
+  }
+
+  /**
+   * Stops any fling and starts tracking a new gesture.
+   */
+  void start(MotionEvent ev, float dx, float dy) {
+    scroller.forceFinished(true);
+    if (velocityTracker == null) {
+      velocityTracker = VelocityTracker.obtain();
+    } else {
+      velocityTracker.clear();
+    }
+    velocityTracker.addMovement(ev);
+    lastAngle = angleOf(dx, dy);
+  }
+
+  /**
+   * @return the degrees the pointer has turned around the origin since the last event
+   */
+  float track(MotionEvent ev, float dx, float dy) {
+    if (velocityTracker != null) {
+      velocityTracker.addMovement(ev);
+    }
+    final float angle = angleOf(dx, dy);
+    float delta = angle - lastAngle;
+    // Crossing the negative x axis wraps atan2 around
+    if (delta > 180f) {
+      delta -= 360f;
+    } else if (delta < -180f) {
+      delta += 360f;
+    }
+    lastAngle = angle;
+    return delta;
+  }
+
+  /**
+   * @return the angular velocity of the gesture at ({@code dx}, {@code dy}) in degrees per
+   * second, or 0 if the pointer moved slower than a fling
+   */
+  float computeVelocity(float dx, float dy) {
+    if (velocityTracker == null) {
+      return 0f;
+    }
+    velocityTracker.computeCurrentVelocity(1000, maximumVelocity);
+    final float vx = velocityTracker.getXVelocity();
+    final float vy = velocityTracker.getYVelocity();
+    final float distanceSquared = dx * dx + dy * dy;
+    if (Math.hypot(vx, vy) < minimumVelocity || distanceSquared == 0f) {
+      return 0f;
+    }
+    // Only the tangential part of the velocity turns the wheel
+    return (float) Math.toDegrees((dx * vy - dy * vx) / distanceSquared);
+  }
+
+  /**
+   * Flings from {@code from} with {@code velocity} and returns where it would come to rest.
+   * The fling keeps running until {@link #settleTo(float, float)} replaces its end.
+   */
+  float fling(float from, float velocity, float min, float max) {
+    scroller.fling(toUnits(from), 0, toUnits(velocity), 0, toUnits(min), toUnits(max), 0, 0);
+    final float to = scroller.getFinalX() / SCROLLER_UNITS_PER_DEGREE;
+    // OverScroller does not tell its duration, so take the one of a constant deceleration
+    final long duration = (velocity != 0f)
+        ? Math.round(2000.0 * Math.abs(to - from) / Math.abs(velocity))
+        : 0L;
+    flingEndTime = AnimationUtils.currentAnimationTimeMillis() + duration;
+    return to;
+  }
+
+  /**
+   * Animates from {@code from} to {@code to}, keeping the remaining time of the current fling
+   * if there is one, so that the fling decelerates into the snapped offset.
+   */
+  void settleTo(float from, float to) {
+    final long remaining = scroller.isFinished()
+        ? 0L
+        : flingEndTime - AnimationUtils.currentAnimationTimeMillis();
+    final int duration = (remaining > 0L) ? (int) remaining : SNAP_DURATION_MILLIS;
+    final int start = toUnits(from);
+    scroller.startScroll(start, 0, toUnits(to) - start, 0, duration);
+  }
+
+  /**
+   * Advances the animation to the current time.
+   *
+   * @return true if the animation is running, see {@link #getRotation()}
+   */
+  boolean computeRotation() {
+    return scroller.computeScrollOffset();
+  }
+
+  float getRotation() {
+    return scroller.getCurrX() / SCROLLER_UNITS_PER_DEGREE;
+  }
+
+  boolean isFinished() {
+    return scroller.isFinished();
+  }
+
+  void abort() {
+    scroller.forceFinished(true);
+  }
+
+  void stop() {
+    if (velocityTracker != null) {
+      velocityTracker.recycle();
+      velocityTracker = null;
+    }
+  }
+
+  private static float angleOf(float dx, float dy) {
+    return (float) Math.toDegrees(Math.atan2(dy, dx));
+  }
+
+  private static int toUnits(float degrees) {
+    return Math.round(degrees * SCROLLER_UNITS_PER_DEGREE);
+  }
+
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Moves the children of an {@link ArcLayout} between the origin of the arc (0) and their
+ * positions on the arc (1) with spring dynamics, driven by a single {@link Choreographer} frame
+ * callback.
+ * <p>
+ * Changing a target while the children are moving keeps their velocity, so expanding and
+ * collapsing can be interrupted at any time. The position of each child is combined with the
+ * expansion and the rotation offset of the layout, and follows the child when children are
+ * added, removed or reordered. Nothing is allocated per frame.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+public class ArcSpringEngine implements Choreographer.FrameCallback,
+    View.OnAttachStateChangeListener {
+
+  public static final float DEFAULT_STIFFNESS = 400f;
+  public static final float DEFAULT_DAMPING_RATIO = 0.6f;
+
+  private static final float MAX_FRAME_SECONDS = 1f / 15f;
+  private static final float STEP_SECONDS = 1f / 240f;
+  private static final float SETTLE_THRESHOLD = 0.001f;
+
+  public interface OnSettleListener {
+
+    /**
+     * Called once every child has come to rest at its target.
+     */
+    void onSettle(ArcSpringEngine engine);
+
+  }
+
+  private final ArcLayout layout;
+  // Keyed by the child, so that the state follows it when the children change
+  private final Map<View, Spring> springs = new WeakHashMap<>();
+  private Choreographer choreographer;
+  private OnSettleListener onSettleListener;
+  private float stiffness = DEFAULT_STIFFNESS;
+  private float dampingRatio = DEFAULT_DAMPING_RATIO;
+  private boolean isRunning;
+  private long lastFrameTimeNanos;
+
+  public ArcSpringEngine(ArcLayout layout) {
+    this.layout = layout;
+    layout.addOnAttachStateChangeListener(this);
+  }
+
+  public float getStiffness() {
+    return stiffness;
+  }
+
+  public void setStiffness(float stiffness) {
+    if (stiffness <= 0f) {
+      throw new IllegalArgumentException("stiffness <= 0");
+    }
+    this.stiffness = stiffness;
+  }
+
+  public float getDampingRatio() {
+    return dampingRatio;
+  }
+
+  /**
+   * @param dampingRatio 1 for no overshoot, below 1 to bounce around the target
+   */
+  public void setDampingRatio(float dampingRatio) {
+    if (dampingRatio < 0f) {
+      throw new IllegalArgumentException("dampingRatio < 0");
+    }
+    this.dampingRatio = dampingRatio;
+  }
+
+  public void setOnSettleListener(OnSettleListener listener) {
+    onSettleListener = listener;
+  }
+
+  public boolean isRunning() {
+    return isRunning;
+  }
+
+  /**
+   * Moves every child toward {@code target}, e.g. 1 to expand and 0 to collapse.
+   */
+  public void animateTo(float target) {
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      springOf(layout.getChildAt(i)).target = target;
+    }
+    start();
+  }
+
+  /**
+   * Moves the child at {@code index} toward {@code target}, e.g. to stagger the children.
+   */
+  public void animateChildTo(int index, float target) {
+    setChildTarget(index, target);
+    start();
+  }
+
+  /**
+   * Moves every child to {@code value} immediately and stops the motion.
+   */
+  public void jumpTo(float value) {
+    cancel();
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      final Spring spring = springOf(layout.getChildAt(i));
+      spring.position = value;
+      spring.velocity = 0f;
+      spring.target = value;
+    }
+    applyPositions();
+  }
+
+  /**
+   * Stops the motion, leaving the children where they are.
+   */
+  public void cancel() {
+    if (!isRunning) {
+      return;
+    }
+    isRunning = false;
+    choreographer.removeFrameCallback(this);
+  }
+
+  public float getChildPosition(int index) {
+    final Spring spring = springs.get(layout.getChildAt(index));
+    return (spring != null) ? spring.position : 1f;
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    if (!isRunning) {
+      return;
+    }
+
+    final float seconds = (lastFrameTimeNanos == 0L)
+        ? 0f
+        : (frameTimeNanos - lastFrameTimeNanos) / 1000000000f;
+    lastFrameTimeNanos = frameTimeNanos;
+
+    final boolean isSettled = step(seconds);
+    applyPositions();
+
+    if (isSettled) {
+      isRunning = false;
+      if (onSettleListener != null) {
+        onSettleListener.onSettle(this);
+      }
+    } else {
+      choreographer.postFrameCallback(this);
+    }
+  }
+
+  @Override
+  public void onViewAttachedToWindow(View v) {
+  }
+
+  @Override
+  public void onViewDetachedFromWindow(View v) {
+    cancel();
+  }
+
+  private void start() {
+    if (isRunning) {
+      return;
+    }
+    if (choreographer == null) {
+      choreographer = Choreographer.getInstance();
+    }
+    isRunning = true;
+    lastFrameTimeNanos = 0L;
+    choreographer.postFrameCallback(this);
+  }
+
+  /**
+   * Advances every spring by {@code seconds} in fixed steps, so that stiff springs stay stable
+   * on a dropped frame.
+   *
+   * @return true if every child has settled at its target
+   */
+  boolean step(float seconds) {
+    final float damping = 2f * dampingRatio * (float) Math.sqrt(stiffness);
+    final int childCount = layout.getChildCount();
+    boolean isSettled = true;
+    for (int i = 0; i < childCount; i++) {
+      final Spring spring = springOf(layout.getChildAt(i));
+      float remaining = Math.min(seconds, MAX_FRAME_SECONDS);
+      while (remaining > 0f) {
+        final float dt = Math.min(remaining, STEP_SECONDS);
+        final float acceleration =
+            -stiffness * (spring.position - spring.target) - damping * spring.velocity;
+        spring.velocity += acceleration * dt;
+        spring.position += spring.velocity * dt;
+        remaining -= dt;
+      }
+
+      if (Math.abs(spring.position - spring.target) < SETTLE_THRESHOLD
+          && Math.abs(spring.velocity) < SETTLE_THRESHOLD) {
+        spring.position = spring.target;
+        spring.velocity = 0f;
+      } else {
+        isSettled = false;
+      }
+    }
+    return isSettled;
+  }
+
+  void setChildTarget(int index, float target) {
+    springOf(layout.getChildAt(index)).target = target;
+  }
+
+  float getChildVelocity(int index) {
+    return springOf(layout.getChildAt(index)).velocity;
+  }
+
+  void applyPositions() {
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      final View child = layout.getChildAt(i);
+      layout.setChildExpansion(child, springOf(child).position);
+    }
+  }
+
+  /**
+   * @return the spring of the child, a new child starting at rest on the arc
+   */
+  private Spring springOf(View child) {
+    Spring spring = springs.get(child);
+    if (spring == null) {
+      spring = new Spring();
+      springs.put(child, spring);
+    }
+    return spring;
+  }
+
+  static final class Spring {
+
+    float position = 1f;
+    float velocity;
+    float target = 1f;
+
+  }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.annotation.TargetApi;
+import android.graphics.Point;
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+/**
+ * Tracks the visible part of {@link ArcLayout} and finds the children culled outside of it.
+ * <p>
+ * A child is culled when its anchor is farther from the visible part than the margin, the
+ * largest child measured so far. Culled children keep the bounds of their last layout.
+ */
+class ArcViewport {
+
+  private final ArcLayout layout;
+  private final Point size;
+  private final Rect bounds = new Rect();
+  private boolean isKnown;
+  private int margin;
+  private final ViewTreeObserver.OnScrollChangedListener listener =
+      new ViewTreeObserver.OnScrollChangedListener() {
+        @Override
+        public void onScrollChanged() {
+          update();
+          if (hasCulledChildInside()) {
+            layout.requestLayout();
+          }
+          layout.invalidate();
+        }
+      };
+
+  /**
+   * @param size the size of the layout being measured, used until the viewport is known
+   */
+  ArcViewport(ArcLayout layout, Point size) {
+    this.layout = layout;
+    this.size = size;
+  }
+
+  void addListener() {
+    layout.getViewTreeObserver().addOnScrollChangedListener(listener);
+  }
+
+  void removeListener() {
+    layout.getViewTreeObserver().removeOnScrollChangedListener(listener);
+  }
+
+  void reset() {
+    isKnown = false;
+  }
+
+  int getMargin() {
+    return margin;
+  }
+
+  void setMargin(int margin) {
+    this.margin = margin;
+  }
+
+  void growMargin(View child) {
+    margin = Math.max(margin, Math.max(child.getMeasuredWidth(), child.getMeasuredHeight()));
+  }
+
+  void update() {
+    // Empty when the layout is out of the window
+    isKnown = layout.getWindowToken() != null;
+    if (!isKnown || !layout.getLocalVisibleRect(bounds)) {
+      bounds.set(0, 0, layout.getWidth(), layout.getHeight());
+      if (isKnown) {
+        bounds.setEmpty();
+      }
+    }
+  }
+
+  /**
+   * @return true if the anchor at ({@code x}, {@code y}), moved by the rotation offset, is
+   * within the margin of the viewport
+   */
+  boolean containsAnchor(int x, int y) {
+    final int rx = layout.rotateAnchorX(x, y);
+    final int ry = layout.rotateAnchorY(x, y);
+    if (!isKnown) {
+      bounds.set(0, 0, size.x, size.y);
+    }
+    return rx + margin > bounds.left && rx - margin < bounds.right
+        && ry + margin > bounds.top && ry - margin < bounds.bottom;
+  }
+
+  boolean intersects(View child) {
+    return bounds.intersects(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
+  }
+
+  boolean hasCulledChildInside() {
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      final View child = layout.getChildAt(i);
+      final ArcLayout.LayoutParams lp = (ArcLayout.LayoutParams) child.getLayoutParams();
+      if (lp.isCulled && child.getVisibility() != View.GONE
+          && containsAnchor(lp.childX, lp.childY)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean hasCulledChildAt(float x, float y) {
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      final View child = layout.getChildAt(i);
+      if (((ArcLayout.LayoutParams) child.getLayoutParams()).isCulled && isInChild(child, x, y)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Leaves culled children out of the accessibility tree. Nodes cannot drop a child before
+   * API 21.
+   */
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  void removeCulledChildren(AccessibilityNodeInfo info) {
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      final View child = layout.getChildAt(i);
+      if (((ArcLayout.LayoutParams) child.getLayoutParams()).isCulled) {
+        info.removeChild(child);
+      }
+    }
+  }
+
+  static boolean isInChild(View child, float x, float y) {
+    final float left = child.getLeft() + ArcLayout.getChildTranslationX(child);
+    final float top = child.getTop() + ArcLayout.getChildTranslationY(child);
+    return x >= left && x < left + child.getWidth() && y >= top && y < top + child.getHeight();
+  }
+
+}
@@ -15,9 +15,14 @@
  */
 package com.ogaclejapan.arclayout;
 
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
 import android.util.Log;
 import android.view.View;
 
+import com.ogaclejapan.arclayout.core.ArcMath;
+
 class Utils {
 
   static final boolean DEBUG = false; //Set to true only when developing
@@ -28,6 +33,18 @@ class Utils {
     Log.d(tag, String.format(format, args));
   }
 
+  static void beginSection(String sectionName) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      TraceCompat.beginSection(sectionName);
+    }
+  }
+
+  static void endSection() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      TraceCompat.endSection();
+    }
+  }
+
   static int computeMeasureSize(int measureSpec, int defSize) {
     final int mode = View.MeasureSpec.getMode(measureSpec);
     switch (mode) {
@@ -41,11 +58,33 @@ class Utils {
   }
 
   static float computeCircleX(float r, float degrees) {
-    return (float) (r * Math.cos(Math.toRadians(degrees)));
+    return ArcMath.computeCircleX(r, degrees);
   }
 
   static float computeCircleY(float r, float degrees) {
-    return (float) (r * Math.sin(Math.toRadians(degrees)));
+    return ArcMath.computeCircleY(r, degrees);
+  }
+
+  static int computeLeft(int origin, int x, int width) {
+    switch (origin & ArcOrigin.HORIZONTAL_MASK) {
+      case ArcOrigin.LEFT:
+        return x;
+      case ArcOrigin.RIGHT:
+        return x - width;
+      default:
+        return x - (width / 2);
+    }
+  }
+
+  static int computeTop(int origin, int y, int height) {
+    switch (origin & ArcOrigin.VERTICAL_MASK) {
+      case ArcOrigin.TOP:
+        return y;
+      case ArcOrigin.BOTTOM:
+        return y - height;
+      default:
+        return y - (height / 2);
+    }
   }
 
   static int computeWidth(int origin, int size, int x) {
@@ -76,4 +115,17 @@ class Utils {
     }
   }
 
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+  private static class TraceCompat {
+
+    static void beginSection(String sectionName) {
+      Trace.beginSection(sectionName);
+    }
+
+    static void endSection() {
+      Trace.endSection();
+    }
+
+  }
+
 }
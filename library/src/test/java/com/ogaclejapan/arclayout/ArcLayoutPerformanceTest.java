@@ -0,0 +1,326 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs measure, layout and draw passes of {@link ArcLayout} for every {@link Arc} and child count
+ * and compares their cost with the checked-in baseline.
+ * <p>
+ * Child measures must match the baseline exactly, and allocations per pass may exceed it by a
+ * tolerance on a JVM that counts them. Wall time depends on the machine, so it is only printed.
+ * Run {@code ./gradlew :library:testDebugUnitTest -PupdateBaseline} to record a new baseline.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ArcLayoutPerformanceTest {
+
+  private static final String BASELINE = "layout-baseline.properties";
+  // Set to the absolute path of the baseline by the build, needed only to update it
+  private static final String BASELINE_FILE_PROPERTY = "arclayout.baselineFile";
+
+  private static final int[] CHILD_COUNTS = {1, 10, 100, 500};
+  private static final int SIZE = 1080;
+  private static final int CHILD_SIZE = 48;
+  private static final int WARM_UP_PASSES = 5;
+  private static final int MEASURED_PASSES = 21;
+
+  private static final double ALLOCATION_TOLERANCE = 1.5;
+  private static final long ALLOCATION_SLACK_BYTES = 1024;
+  private static final int ALLOCATION_PROBE_BYTES = 64 * 1024;
+
+  // Keeps the probe allocation from being optimized away
+  private static volatile Object sink;
+
+  private enum Mode {
+    FIXED, FREE, REVERSE
+  }
+
+  @Test
+  public void layoutPassesDoNotRegress() throws IOException {
+    final boolean isUpdate = Boolean.getBoolean("arclayout.updateBaseline");
+    final boolean isAllocationCounted = allocatedBytes() >= 0;
+    if (isAllocationCounted) {
+      assertAllocationsCounted();
+    }
+    final Properties baseline = loadBaseline(isUpdate);
+    final Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+
+    // Every layout is warmed up before any is measured, so the first ones do not pay for the JIT
+    final Map<String, ArcLayout> layouts = new LinkedHashMap<>();
+    final Map<String, Result> results = new LinkedHashMap<>();
+    for (Arc arc : Arc.values()) {
+      for (Mode mode : Mode.values()) {
+        for (int childCount : CHILD_COUNTS) {
+          final String key = arc + "." + mode + "." + childCount;
+          final ArcLayout layout = createArcLayout(arc, mode, childCount);
+          layouts.put(key, layout);
+          results.put(key, warmUp(layout, canvas));
+        }
+      }
+    }
+
+    final Properties recorded = new Properties();
+    final List<String> regressions = new ArrayList<>();
+    final List<String> allocationRegressions = new ArrayList<>();
+    final StringBuilder report = new StringBuilder("Median wall time per pass:\n");
+    for (Map.Entry<String, ArcLayout> entry : layouts.entrySet()) {
+      final String key = entry.getKey();
+      final Result result = results.get(key);
+      run(entry.getValue(), canvas, result);
+      recorded.setProperty(key + ".firstMeasures", String.valueOf(result.firstMeasures));
+      recorded.setProperty(key + ".measures", String.valueOf(result.measures));
+      recorded.setProperty(key + ".allocatedBytes", String.valueOf(result.allocatedBytes));
+      report.append(key).append(": ").append(result.nanos).append(" ns\n");
+      if (!isUpdate) {
+        compareMeasures(baseline, key, result, regressions);
+        compareAllocations(baseline, key, result, allocationRegressions);
+      }
+    }
+    System.out.print(report);
+
+    if (isUpdate) {
+      assumeTrue("Allocations are not counted by this JVM", isAllocationCounted);
+      saveBaseline(recorded);
+      return;
+    }
+    if (!regressions.isEmpty()) {
+      fail(regressions.size() + " regressions against " + BASELINE + ":\n"
+          + join(regressions));
+    }
+    assumeTrue("Allocations are not counted by this JVM", isAllocationCounted);
+    if (!allocationRegressions.isEmpty()) {
+      fail(allocationRegressions.size() + " regressions against " + BASELINE + ":\n"
+          + join(allocationRegressions));
+    }
+  }
+
+  private static Result warmUp(ArcLayout layout, Canvas canvas) {
+    final MeasureCounter counter = new MeasureCounter();
+    layout.setMonitor(counter);
+
+    final Result result = new Result();
+    pass(layout, canvas);
+    result.firstMeasures = counter.childMeasureCount;
+    for (int i = 1; i < WARM_UP_PASSES; i++) {
+      pass(layout, canvas);
+    }
+    return result;
+  }
+
+  private static void run(ArcLayout layout, Canvas canvas, Result result) {
+    final MeasureCounter counter = new MeasureCounter();
+    layout.setMonitor(counter);
+
+    // Refills the caches that the other layouts evicted since the warm-up
+    pass(layout, canvas);
+
+    final long[] nanos = new long[MEASURED_PASSES];
+    final long allocatedBytes = allocatedBytes();
+    for (int i = 0; i < MEASURED_PASSES; i++) {
+      final long start = System.nanoTime();
+      pass(layout, canvas);
+      nanos[i] = System.nanoTime() - start;
+      result.measures += counter.childMeasureCount;
+    }
+    result.allocatedBytes = (allocatedBytes() - allocatedBytes) / MEASURED_PASSES;
+    Arrays.sort(nanos);
+    result.nanos = nanos[MEASURED_PASSES / 2];
+  }
+
+  private static void pass(ArcLayout layout, Canvas canvas) {
+    final int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+    // Every child asks for a layout, as when their content changes, so that each pass does work
+    for (int i = 0, size = layout.getChildCount(); i < size; i++) {
+      layout.getChildAt(i).forceLayout();
+    }
+    layout.forceLayout();
+    layout.measure(spec, spec);
+    layout.layout(0, 0, SIZE, SIZE);
+    layout.draw(canvas);
+  }
+
+  private static void compareMeasures(Properties baseline, String key, Result result,
+      List<String> regressions) {
+    final String measures = baseline.getProperty(key + ".measures");
+    if (measures == null) {
+      regressions.add(key + ": missing from the baseline");
+      return;
+    }
+
+    if (result.firstMeasures != Long.parseLong(baseline.getProperty(key + ".firstMeasures"))
+        || result.measures > Long.parseLong(measures)) {
+      regressions.add(key + ": child measures " + result.firstMeasures + "/" + result.measures
+          + ", baseline " + baseline.getProperty(key + ".firstMeasures") + "/" + measures);
+    }
+  }
+
+  private static void compareAllocations(Properties baseline, String key, Result result,
+      List<String> regressions) {
+    final String allocatedBytes = baseline.getProperty(key + ".allocatedBytes");
+    if (allocatedBytes == null) {
+      return;
+    }
+
+    if (result.allocatedBytes
+        > Long.parseLong(allocatedBytes) * ALLOCATION_TOLERANCE + ALLOCATION_SLACK_BYTES) {
+      regressions.add(key + ": " + result.allocatedBytes + " bytes allocated per pass, baseline "
+          + allocatedBytes);
+    }
+  }
+
+  /**
+   * Fails if the probe misses an allocation on purpose, as a baseline of zeros would then pass
+   * for anything.
+   */
+  private static void assertAllocationsCounted() {
+    final long allocatedBytes = allocatedBytes();
+    sink = new byte[ALLOCATION_PROBE_BYTES];
+    final long counted = allocatedBytes() - allocatedBytes;
+    if (counted < ALLOCATION_PROBE_BYTES) {
+      fail("Allocation probe counted " + counted + " of " + ALLOCATION_PROBE_BYTES + " bytes");
+    }
+  }
+
+  /**
+   * @return the bytes allocated by this thread so far, or -1 if the JVM does not tell
+   */
+  private static long allocatedBytes() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1L;
+  }
+
+  private static ArcLayout createArcLayout(Arc arc, Mode mode, int childCount) {
+    final ArcLayout layout = new ArcLayout(RuntimeEnvironment.application);
+    layout.setArc(arc);
+    layout.setRadius(SIZE / 2);
+    layout.setAxisRadius(SIZE / 3);
+    layout.setArcColor(0xff000000);
+    layout.setFreeAngle(mode == Mode.FREE);
+    layout.setReverseAngle(mode == Mode.REVERSE);
+    for (int i = 0; i < childCount; i++) {
+      final ArcLayout.LayoutParams lp = new ArcLayout.LayoutParams(CHILD_SIZE, CHILD_SIZE);
+      lp.angle = (float) arc.sweepAngle * i / childCount;
+      layout.addView(new View(RuntimeEnvironment.application), lp);
+    }
+    return layout;
+  }
+
+  private static Properties loadBaseline(boolean isUpdate) throws IOException {
+    final Properties baseline = new Properties();
+    final InputStream in = ArcLayoutPerformanceTest.class.getResourceAsStream(BASELINE);
+    if (!isUpdate) {
+      assertNotNull(BASELINE + " not found", in);
+    }
+    if (in != null) {
+      try {
+        baseline.load(in);
+      } finally {
+        in.close();
+      }
+    }
+    return baseline;
+  }
+
+  private static void saveBaseline(Properties results) throws IOException {
+    final String path = System.getProperty(BASELINE_FILE_PROPERTY);
+    assertNotNull(BASELINE_FILE_PROPERTY + " is not set", path);
+    final File file = new File(path);
+    if (!file.isAbsolute()) {
+      fail(BASELINE_FILE_PROPERTY + " is not an absolute path: " + path);
+    }
+
+    // Sorted without a timestamp, so that a new baseline diffs cleanly
+    final List<String> keys = new ArrayList<>(results.stringPropertyNames());
+    Collections.sort(keys);
+    final Writer out = new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1");
+    try {
+      out.write("# Recorded by ArcLayoutPerformanceTest, see its doc to update\n");
+      for (String key : keys) {
+        out.write(key + "=" + results.getProperty(key) + "\n");
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private static String join(List<String> lines) {
+    final StringBuilder sb = new StringBuilder();
+    for (String line : lines) {
+      sb.append(line).append('\n');
+    }
+    return sb.toString();
+  }
+
+  static class Result {
+
+    long firstMeasures;
+    long measures;
+    long allocatedBytes;
+    long nanos;
+
+  }
+
+  static class MeasureCounter implements ArcLayout.Monitor {
+
+    int childMeasureCount;
+
+    @Override
+    public void onMeasure(ArcLayout layout, ArcLayout.Stats stats) {
+      childMeasureCount = stats.getChildMeasureCount();
+    }
+
+    @Override
+    public void onLayout(ArcLayout layout, ArcLayout.Stats stats) {
+    }
+
+    @Override
+    public void onDraw(ArcLayout layout, ArcLayout.Stats stats) {
+    }
+
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.recyclerview;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.ogaclejapan.arclayout.Arc;
+
+public class ArcLayoutManagerTest extends AndroidTestCase {
+
+  private static final int SIZE = 480;
+  private static final int AXIS_RADIUS = 200;
+  private static final float PER_DEGREES = 30f;
+
+  public void testLaysOutItemsWithinSweep() {
+    final CountingAdapter adapter = new CountingAdapter(40);
+    final RecyclerView recyclerView = createRecyclerView(adapter);
+
+    // 180 degrees of Arc.BOTTOM, with half visible items at both ends
+    assertEquals(7, recyclerView.getChildCount());
+    assertEquals(7, adapter.bindCount);
+    assertItemsOnAxis(recyclerView);
+  }
+
+  public void testScrollMovesAttachedItemsWithoutRelayout() {
+    final CountingAdapter adapter = new CountingAdapter(40);
+    final RecyclerView recyclerView = createRecyclerView(adapter);
+    final RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
+    final CountingView kept = (CountingView) lm.findViewByPosition(3);
+    final int bindCount = adapter.bindCount;
+
+    // One item leaves the sweep and the next one enters it
+    recyclerView.scrollBy(0, Math.round((float) Math.toRadians(PER_DEGREES) * AXIS_RADIUS));
+    assertEquals(30f, ((ArcLayoutManager) lm).getScrollDegrees(), 0.5f);
+    assertSame(kept, lm.findViewByPosition(3));
+    assertEquals(1, kept.measureCount);
+    assertNull(lm.findViewByPosition(0));
+    assertNotNull(lm.findViewByPosition(7));
+    assertEquals(bindCount + 1, adapter.bindCount);
+    assertItemsOnAxis(recyclerView);
+  }
+
+  private RecyclerView createRecyclerView(CountingAdapter adapter) {
+    final RecyclerView recyclerView = new RecyclerView(getContext());
+    recyclerView.setLayoutManager(new ArcLayoutManager(Arc.BOTTOM, AXIS_RADIUS, PER_DEGREES));
+    recyclerView.setAdapter(adapter);
+    final int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+    recyclerView.measure(spec, spec);
+    recyclerView.layout(0, 0, SIZE, SIZE);
+    return recyclerView;
+  }
+
+  private static void assertItemsOnAxis(RecyclerView recyclerView) {
+    // Origin of Arc.BOTTOM at the center of the bottom edge
+    for (int i = 0; i < recyclerView.getChildCount(); i++) {
+      final View child = recyclerView.getChildAt(i);
+      final float dx = (child.getLeft() + child.getRight()) / 2f - SIZE / 2f;
+      final float dy = (child.getTop() + child.getBottom()) / 2f - SIZE;
+      assertEquals("child " + i, AXIS_RADIUS, Math.hypot(dx, dy), 2.0);
+    }
+  }
+
+  static class CountingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    final int itemCount;
+    int bindCount;
+
+    CountingAdapter(int itemCount) {
+      this.itemCount = itemCount;
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+      final View view = new CountingView(parent.getContext());
+      view.setLayoutParams(new RecyclerView.LayoutParams(48, 48));
+      return new RecyclerView.ViewHolder(view) {
+      };
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+      bindCount++;
+    }
+
+    @Override
+    public int getItemCount() {
+      return itemCount;
+    }
+
+  }
+
+  static class CountingView extends View {
+
+    int measureCount;
+
+    CountingView(Context context) {
+      super(context);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+      super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+      measureCount++;
+    }
+
+  }
+
+}
@@ -0,0 +1,312 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ogaclejapan.arclayout.recyclerview;
+
+import android.graphics.Point;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.ogaclejapan.arclayout.Arc;
+
+/**
+ * A {@link RecyclerView.LayoutManager} that places items on an {@link Arc} like ArcLayout and
+ * rotates the arc as the RecyclerView scrolls or flings.
+ * <p>
+ * Items are {@code perDegrees} apart on the axis of {@code axisRadius} around the origin of the
+ * arc. Only the items within the sweep of the arc are laid out; the rest are recycled. A scroll
+ * moves the attached items along the arc without measuring them again, and only binds or
+ * recycles the items entering or leaving the sweep.
+ */
+public class ArcLayoutManager extends RecyclerView.LayoutManager {
+
+  public static final int HORIZONTAL = 0;
+  public static final int VERTICAL = 1;
+
+  private final Point origin = new Point();
+  private Arc arc;
+  private int axisRadius;
+  private float perDegrees;
+  private int orientation = VERTICAL;
+  private float scrollDegrees = 0f;
+  private int pendingScrollPosition = RecyclerView.NO_POSITION;
+  private int firstLaidOutPosition = RecyclerView.NO_POSITION;
+  private int lastLaidOutPosition = RecyclerView.NO_POSITION;
+
+  public ArcLayoutManager(Arc arc, int axisRadius, float perDegrees) {
+    if (axisRadius <= 0) {
+      throw new IllegalArgumentException("axisRadius <= 0");
+    }
+    if (perDegrees <= 0f) {
+      throw new IllegalArgumentException("perDegrees <= 0");
+    }
+    this.arc = arc;
+    this.axisRadius = axisRadius;
+    this.perDegrees = perDegrees;
+  }
+
+  public Arc getArc() {
+    return arc;
+  }
+
+  public void setArc(Arc arc) {
+    this.arc = arc;
+    requestLayout();
+  }
+
+  public int getAxisRadius() {
+    return axisRadius;
+  }
+
+  public void setAxisRadius(int axisRadius) {
+    this.axisRadius = axisRadius;
+    requestLayout();
+  }
+
+  public float getPerDegrees() {
+    return perDegrees;
+  }
+
+  public void setPerDegrees(float perDegrees) {
+    this.perDegrees = perDegrees;
+    requestLayout();
+  }
+
+  public int getOrientation() {
+    return orientation;
+  }
+
+  /**
+   * @param orientation {@link #VERTICAL} (default) or {@link #HORIZONTAL}, the scroll direction
+   * that rotates the arc
+   */
+  public void setOrientation(int orientation) {
+    this.orientation = orientation;
+    requestLayout();
+  }
+
+  /**
+   * @return the current rotation of the arc in degrees
+   */
+  public float getScrollDegrees() {
+    return scrollDegrees;
+  }
+
+  @Override
+  public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+    return new RecyclerView.LayoutParams(
+        ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+  }
+
+  @Override
+  public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+    final int itemCount = state.getItemCount();
+    if (itemCount == 0) {
+      removeAndRecycleAllViews(recycler);
+      firstLaidOutPosition = RecyclerView.NO_POSITION;
+      lastLaidOutPosition = RecyclerView.NO_POSITION;
+      return;
+    }
+
+    if (pendingScrollPosition != RecyclerView.NO_POSITION) {
+      scrollDegrees = pendingScrollPosition * perDegrees;
+      pendingScrollPosition = RecyclerView.NO_POSITION;
+    }
+    scrollDegrees = clampScrollDegrees(scrollDegrees, itemCount);
+
+    detachAndScrapAttachedViews(recycler);
+    fill(recycler, itemCount);
+  }
+
+  @Override
+  public boolean canScrollHorizontally() {
+    return orientation == HORIZONTAL;
+  }
+
+  @Override
+  public boolean canScrollVertically() {
+    return orientation == VERTICAL;
+  }
+
+  @Override
+  public int scrollHorizontallyBy(int dx, RecyclerView.Recycler recycler,
+      RecyclerView.State state) {
+    return scrollBy(dx, recycler, state);
+  }
+
+  @Override
+  public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler,
+      RecyclerView.State state) {
+    return scrollBy(dy, recycler, state);
+  }
+
+  @Override
+  public void scrollToPosition(int position) {
+    pendingScrollPosition = position;
+    requestLayout();
+  }
+
+  @Override
+  public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+      LayoutPrefetchRegistry layoutPrefetchRegistry) {
+    final int delta = (orientation == VERTICAL) ? dy : dx;
+    if (delta == 0 || getChildCount() == 0) {
+      return;
+    }
+
+    final int position = (delta > 0) ? lastLaidOutPosition + 1 : firstLaidOutPosition - 1;
+    if (position < 0 || position >= state.getItemCount()) {
+      return;
+    }
+
+    // Degrees the arc has to rotate before the item enters the sweep
+    final float degrees = (delta > 0)
+        ? computeRelativeDegrees(position) - computeSweepEnd()
+        : computeSweepStart() - computeRelativeDegrees(position);
+    layoutPrefetchRegistry.addPosition(position, Math.max(0, toPixels(degrees)));
+  }
+
+  private int scrollBy(int delta, RecyclerView.Recycler recycler, RecyclerView.State state) {
+    final int itemCount = state.getItemCount();
+    if (delta == 0 || getChildCount() == 0 || itemCount == 0) {
+      return 0;
+    }
+
+    final float degrees = toDegrees(delta);
+    final float newScrollDegrees = clampScrollDegrees(scrollDegrees + degrees, itemCount);
+    final float consumedDegrees = newScrollDegrees - scrollDegrees;
+    scrollDegrees = newScrollDegrees;
+
+    offsetChildren();
+    fill(recycler, itemCount);
+
+    return (consumedDegrees == degrees) ? delta : toPixels(consumedDegrees);
+  }
+
+  /**
+   * Recycles the attached items outside the sweep and adds the missing ones at either end.
+   * The attached items are kept in order of their adapter position.
+   */
+  private void fill(RecyclerView.Recycler recycler, int itemCount) {
+    computeOrigin();
+
+    final float offset = computeRelativeDegrees(0);
+    final int first = Math.max(0,
+        (int) Math.ceil((computeSweepStart() - offset) / perDegrees));
+    final int last = Math.min(itemCount - 1,
+        (int) Math.floor((computeSweepEnd() - offset) / perDegrees));
+
+    for (int i = getChildCount() - 1; i >= 0; i--) {
+      final View child = getChildAt(i);
+      final int position = getPosition(child);
+      if (position < first || position > last) {
+        removeAndRecycleView(child, recycler);
+      }
+    }
+
+    final int childCount = getChildCount();
+    final int attachedFirst = (childCount > 0) ? getPosition(getChildAt(0)) : first;
+    final int attachedLast = (childCount > 0)
+        ? getPosition(getChildAt(childCount - 1))
+        : first - 1;
+    for (int position = attachedFirst - 1; position >= first; position--) {
+      addItem(recycler, position, 0);
+    }
+    for (int position = attachedLast + 1; position <= last; position++) {
+      addItem(recycler, position, -1);
+    }
+
+    firstLaidOutPosition = first;
+    lastLaidOutPosition = last;
+  }
+
+  private void addItem(RecyclerView.Recycler recycler, int position, int index) {
+    final View view = recycler.getViewForPosition(position);
+    addView(view, index);
+    measureChildWithMargins(view, 0, 0);
+
+    // Centered with its margins on the axis
+    final RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) view.getLayoutParams();
+    final int width = getDecoratedMeasuredWidth(view) + lp.leftMargin + lp.rightMargin;
+    final int height = getDecoratedMeasuredHeight(view) + lp.topMargin + lp.bottomMargin;
+    final int left = computeItemX(position) - (width / 2);
+    final int top = computeItemY(position) - (height / 2);
+    layoutDecoratedWithMargins(view, left, top, left + width, top + height);
+  }
+
+  /**
+   * Moves every attached item to its place for the current rotation, keeping its size.
+   */
+  private void offsetChildren() {
+    computeOrigin();
+    for (int i = 0, size = getChildCount(); i < size; i++) {
+      final View child = getChildAt(i);
+      final int position = getPosition(child);
+      final RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+      final int centerX = (getDecoratedLeft(child) - lp.leftMargin
+          + getDecoratedRight(child) + lp.rightMargin) >> 1;
+      final int centerY = (getDecoratedTop(child) - lp.topMargin
+          + getDecoratedBottom(child) + lp.bottomMargin) >> 1;
+      child.offsetLeftAndRight(computeItemX(position) - centerX);
+      child.offsetTopAndBottom(computeItemY(position) - centerY);
+    }
+  }
+
+  private void computeOrigin() {
+    arc.computeOrigin(getPaddingLeft(), getPaddingTop(),
+        getWidth() - getPaddingRight(), getHeight() - getPaddingBottom(), origin);
+  }
+
+  private int computeItemX(int position) {
+    return origin.x + Arc.x(axisRadius, arc.computeDegrees(position, perDegrees) - scrollDegrees);
+  }
+
+  private int computeItemY(int position) {
+    return origin.y + Arc.y(axisRadius, arc.computeDegrees(position, perDegrees) - scrollDegrees);
+  }
+
+  /**
+   * @return the angle of the item relative to the start angle of the arc
+   */
+  private float computeRelativeDegrees(int position) {
+    return arc.computeDegrees(position, perDegrees) - scrollDegrees - arc.startAngle;
+  }
+
+  private float computeSweepStart() {
+    // Items at the edges are half visible, except for a full circle where they would overlap
+    return (arc.sweepAngle < 360) ? -perDegrees / 2f : 0f;
+  }
+
+  private float computeSweepEnd() {
+    return (arc.sweepAngle < 360)
+        ? arc.sweepAngle + perDegrees / 2f
+        : arc.sweepAngle - perDegrees / 2f;
+  }
+
+  private float clampScrollDegrees(float degrees, int itemCount) {
+    final float max = Math.max(0f, itemCount * perDegrees - arc.sweepAngle);
+    return Math.max(0f, Math.min(degrees, max));
+  }
+
+  private float toDegrees(int pixels) {
+    return (float) Math.toDegrees((double) pixels / axisRadius);
+  }
+
+  private int toPixels(float degrees) {
+    return Math.round((float) Math.toRadians(degrees) * axisRadius);
+  }
+
+}